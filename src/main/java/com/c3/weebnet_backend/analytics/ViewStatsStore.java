@@ -0,0 +1,171 @@
+package com.c3.weebnet_backend.analytics;
+
+import com.c3.weebnet_backend.journal.InteractionEvent;
+import com.c3.weebnet_backend.journal.InteractionType;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hourly view aggregates per publication: a view count and a {@link HyperLogLog} of the viewers.
+ *
+ * Views are never stored as rows. {@link #addViews} folds a batch of journaled views into their
+ * (publication, hour) buckets, merging with what is already stored; it must run inside a transaction,
+ * where the row locks make concurrent compactors on other nodes merge one after the other.
+ */
+@Component
+public class ViewStatsStore {
+
+    // Keeps the IN list and the batches of each merge round bounded
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ViewStatsStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addViews(List<InteractionEvent> events) {
+        Map<BucketKey, Bucket> batch = new HashMap<>();
+        for (InteractionEvent event : events) {
+            if (event.getType() != InteractionType.VIEW) {
+                continue;
+            }
+            BucketKey key = new BucketKey(event.getPublicationId(), hourOf(event.getTimestamp()));
+            Bucket bucket = batch.computeIfAbsent(key, k -> new Bucket());
+            bucket.views++;
+            bucket.viewerIds.add(event.getUserId());
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Rows are inserted and locked in (publication, bucket) order, so two nodes merging overlapping
+        // segments wait for each other instead of deadlocking
+        List<BucketKey> keys = new ArrayList<>(batch.keySet());
+        keys.sort(BucketKey.ORDER);
+        for (int start = 0; start < keys.size(); start += CHUNK_SIZE) {
+            merge(keys.subList(start, Math.min(start + CHUNK_SIZE, keys.size())), batch);
+        }
+    }
+
+    private void merge(List<BucketKey> keys, Map<BucketKey, Bucket> batch) {
+        // Sketches are built per chunk: one per bucket of the whole segment could take hundreds of megabytes
+        Map<BucketKey, HyperLogLog> sketches = new HashMap<>();
+        for (BucketKey key : keys) {
+            HyperLogLog sketch = new HyperLogLog();
+            batch.get(key).viewerIds.forEach(sketch::add);
+            sketches.put(key, sketch);
+        }
+
+        byte[] empty = new HyperLogLog().toBytes();
+        jdbcTemplate.batchUpdate("INSERT INTO publication_view_stats (id_publication, bucket, views, viewers) " +
+                "VALUES (?, ?, 0, ?) ON CONFLICT (id_publication, bucket) DO NOTHING", keys, keys.size(), (ps, key) -> {
+            ps.setInt(1, key.publicationId);
+            ps.setTimestamp(2, Timestamp.valueOf(key.bucket));
+            ps.setBytes(3, empty);
+        });
+
+        // Lock and read exactly the rows of the chunk in one statement, then merge in memory
+        List<Object> args = new ArrayList<>(keys.size() * 2);
+        for (BucketKey key : keys) {
+            args.add(key.publicationId);
+            args.add(Timestamp.valueOf(key.bucket));
+        }
+        String pairs = String.join(", ", Collections.nCopies(keys.size(), "(?, ?)"));
+        jdbcTemplate.query("SELECT id_publication, bucket, views, viewers FROM publication_view_stats " +
+                "WHERE (id_publication, bucket) IN (" + pairs + ") ORDER BY id_publication, bucket " +
+                "FOR UPDATE", rs -> {
+            BucketKey key = new BucketKey(rs.getInt("id_publication"), rs.getTimestamp("bucket").toLocalDateTime());
+            batch.get(key).views += rs.getLong("views");
+            sketches.get(key).merge(HyperLogLog.fromBytes(rs.getBytes("viewers")));
+        }, args.toArray());
+
+        jdbcTemplate.batchUpdate("UPDATE publication_view_stats SET views = ?, viewers = ? " +
+                "WHERE id_publication = ? AND bucket = ?", keys, keys.size(), (ps, key) -> {
+            ps.setLong(1, batch.get(key).views);
+            ps.setBytes(2, sketches.get(key).toBytes());
+            ps.setInt(3, key.publicationId);
+            ps.setTimestamp(4, Timestamp.valueOf(key.bucket));
+        });
+    }
+
+    /**
+     * Total views and merged viewers of a publication over the buckets in [from, to).
+     */
+    public ViewTotals totals(int publicationId, LocalDateTime from, LocalDateTime to) {
+        ViewTotals totals = new ViewTotals();
+        jdbcTemplate.query("SELECT views, viewers FROM publication_view_stats " +
+                "WHERE id_publication = ? AND bucket >= ? AND bucket < ?", rs -> {
+            totals.views += rs.getLong("views");
+            totals.viewers.merge(HyperLogLog.fromBytes(rs.getBytes("viewers")));
+        }, publicationId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return totals;
+    }
+
+    static LocalDateTime hourOf(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public static class ViewTotals {
+
+        private long views;
+        private final HyperLogLog viewers = new HyperLogLog();
+
+        public long getViews() {
+            return views;
+        }
+
+        public HyperLogLog getViewers() {
+            return viewers;
+        }
+    }
+
+    private static final class Bucket {
+        private long views;
+        private final List<Integer> viewerIds = new ArrayList<>();
+    }
+
+    private static final class BucketKey {
+
+        static final Comparator<BucketKey> ORDER =
+                Comparator.<BucketKey>comparingInt(key -> key.publicationId).thenComparing(key -> key.bucket);
+
+        private final int publicationId;
+        private final LocalDateTime bucket;
+
+        private BucketKey(int publicationId, LocalDateTime bucket) {
+            this.publicationId = publicationId;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey other)) {
+                return false;
+            }
+            return publicationId == other.publicationId && bucket.equals(other.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(publicationId, bucket);
+        }
+    }
+}
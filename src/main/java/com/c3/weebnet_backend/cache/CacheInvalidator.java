@@ -0,0 +1,95 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.cache.Invalidation.Kind;
+import com.c3.weebnet_backend.entities.User;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Single entry point for dropping cached data when a row changes.
+ * Every write path that modifies a user or a publication calls it, so new caches only need to be added here.
+ *
+ * Local caches are dropped at once; the same invalidation goes to the other nodes through {@link InvalidationBus}
+ * after commit, where it is applied together with the second-level cache entry, which Hibernate only keeps up to
+ * date on the node that wrote the row.
+ */
+@Component
+public class CacheInvalidator implements InvalidationBus.Listener {
+
+    private final UserProfileCache userProfileCache;
+    private final SerializedResponseCache serializedResponseCache;
+    private final ProfileCaches profileCaches;
+    private final InvalidationBus invalidationBus;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheInvalidator(UserProfileCache userProfileCache, SerializedResponseCache serializedResponseCache,
+                            ProfileCaches profileCaches, InvalidationBus invalidationBus,
+                            EntityManagerFactory entityManagerFactory) {
+        this.userProfileCache = userProfileCache;
+        this.serializedResponseCache = serializedResponseCache;
+        this.profileCaches = profileCaches;
+        this.invalidationBus = invalidationBus;
+        this.entityManagerFactory = entityManagerFactory;
+        invalidationBus.subscribe(this);
+    }
+
+    public void userChanged(int userId) {
+        invalidate(new Invalidation(Kind.USER, userId));
+    }
+
+    public void publicationChanged(int publicationId) {
+        invalidate(new Invalidation(Kind.PUBLICATION, publicationId));
+    }
+
+    public void userPublished(int userId) {
+        invalidate(new Invalidation(Kind.USER_PUBLISHED, userId));
+    }
+
+    public void followChanged(int followerId, int followingId) {
+        invalidate(new Invalidation(Kind.FOLLOW_COUNTS, followerId));
+        invalidate(new Invalidation(Kind.FOLLOW_COUNTS, followingId));
+    }
+
+    @Override
+    public void apply(Collection<Invalidation> invalidations) {
+        for (Invalidation invalidation : invalidations) {
+            applyLocally(invalidation);
+            if (invalidation.getKind() == Kind.USER) {
+                entityManagerFactory.getCache().evict(User.class, invalidation.getId());
+            }
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        userProfileCache.invalidateAll();
+        serializedResponseCache.invalidateAll();
+        profileCaches.followCounts().invalidateAll();
+        profileCaches.latestPublications().invalidateAll();
+        entityManagerFactory.getCache().evict(User.class);
+    }
+
+    private void invalidate(Invalidation invalidation) {
+        applyLocally(invalidation);
+        invalidationBus.publish(invalidation);
+    }
+
+    private void applyLocally(Invalidation invalidation) {
+        int id = invalidation.getId();
+        switch (invalidation.getKind()) {
+            case USER -> {
+                userProfileCache.invalidate(id);
+                serializedResponseCache.invalidate(SerializedResponseCache.USER_CARD, id);
+                // Cached publications embed the author's summary. Publication cards need nothing here: they are
+                // keyed on the author's version too, so they miss once the row is saved
+                profileCaches.latestPublications().invalidate(id);
+            }
+            case PUBLICATION -> serializedResponseCache.invalidate(SerializedResponseCache.PUBLICATION_CARD, id);
+            case USER_PUBLISHED -> profileCaches.latestPublications().invalidate(id);
+            case FOLLOW_COUNTS -> profileCaches.followCounts().invalidate(id);
+        }
+    }
+}
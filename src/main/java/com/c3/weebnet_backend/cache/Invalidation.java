@@ -0,0 +1,87 @@
+package com.c3.weebnet_backend.cache;
+
+import java.util.Objects;
+
+/**
+ * One cache invalidation, as sent between nodes by {@link InvalidationBus}: a kind and the id it applies to.
+ * Encoded as the kind's code followed by the id ("u42"), so a single NOTIFY payload carries hundreds of them.
+ */
+public final class Invalidation {
+
+    public enum Kind {
+        /** A user row changed: summaries, cards, second-level cache entry. */
+        USER('u'),
+        /** A publication row changed. */
+        PUBLICATION('p'),
+        /** A user published: their latest publications. */
+        USER_PUBLISHED('a'),
+        /** Someone followed or unfollowed the user: their follow counts. */
+        FOLLOW_COUNTS('f');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind of(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Kind kind;
+    private final int id;
+
+    public Invalidation(Kind kind, int id) {
+        this.kind = kind;
+        this.id = id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    String encode() {
+        return kind.code + Integer.toString(id);
+    }
+
+    /** Returns null for a token this node does not understand (sent by a newer version). */
+    static Invalidation decode(String token) {
+        if (token.length() < 2) {
+            return null;
+        }
+        Kind kind = Kind.of(token.charAt(0));
+        if (kind == null) {
+            return null;
+        }
+        try {
+            return new Invalidation(kind, Integer.parseInt(token, 1, token.length(), 10));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Invalidation other && kind == other.kind && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, id);
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
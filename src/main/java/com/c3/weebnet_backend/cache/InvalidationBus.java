@@ -0,0 +1,348 @@
+package com.c3.weebnet_backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Carries cache invalidations between application nodes over PostgreSQL LISTEN/NOTIFY, so an in-process cache on
+ * one node does not keep serving a row another node has just changed.
+ *
+ * Publishing: invalidations are queued after the surrounding transaction commits (at once outside a transaction)
+ * and a publisher thread sends them in batches: everything queued within weebnet.cache.invalidation.linger-ms
+ * goes out deduplicated, as few NOTIFY payloads of "node-id u42 p7 f3 ..." as fit PostgreSQL's 8000 byte limit.
+ *
+ * Receiving: every node keeps one dedicated connection, outside the pool, listening on the channel. Notifications
+ * that arrive together are applied as one batch; a node's own messages are skipped since it invalidated locally.
+ * NOTIFY is not durable: anything sent while the listener was disconnected is lost, so after reconnecting the
+ * listener flushes every local cache. The same "*" flush is sent to all nodes when the publisher itself had to
+ * drop invalidations (queue overflow or a failed send).
+ */
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    /** Receives invalidations published by other nodes. */
+    public interface Listener {
+        void apply(Collection<Invalidation> invalidations);
+
+        void flushAll();
+    }
+
+    static final String FLUSH_ALL = "*";
+    // PostgreSQL rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD = 7900;
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long lingerMillis;
+    private final int pollMillis;
+    private final long keepaliveMillis;
+    private final long reconnectDelayMillis;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final LinkedBlockingQueue<Invalidation> outbox;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    // Set when invalidations were lost on the way out: the next payload tells every node to flush
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    private final Counter sent;
+    private final Counter received;
+    private final Counter remoteFlushes;
+    private final Counter reconnectFlushes;
+
+    private volatile boolean running;
+    private Thread publisher;
+    private Thread listener;
+    private volatile Connection listenConnection;
+    private volatile boolean listening;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                           @Value("${weebnet.cache.invalidation.enabled:true}") boolean enabled,
+                           @Value("${weebnet.cache.invalidation.channel:weebnet_invalidation}") String channel,
+                           @Value("${spring.datasource.url}") String url,
+                           @Value("${spring.datasource.username}") String username,
+                           @Value("${spring.datasource.password}") String password,
+                           @Value("${weebnet.cache.invalidation.linger-ms:20}") long lingerMillis,
+                           @Value("${weebnet.cache.invalidation.queue-capacity:10000}") int queueCapacity,
+                           @Value("${weebnet.cache.invalidation.poll-ms:500}") int pollMillis,
+                           @Value("${weebnet.cache.invalidation.keepalive-ms:10000}") long keepaliveMillis,
+                           @Value("${weebnet.cache.invalidation.reconnect-delay-ms:2000}") long reconnectDelayMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.lingerMillis = lingerMillis;
+        this.pollMillis = pollMillis;
+        this.keepaliveMillis = keepaliveMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.outbox = new LinkedBlockingQueue<>(queueCapacity);
+        this.sent = messages("sent", meterRegistry);
+        this.received = messages("received", meterRegistry);
+        this.remoteFlushes = flushes("remote", meterRegistry);
+        this.reconnectFlushes = flushes("reconnect", meterRegistry);
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /** Sends the invalidation to the other nodes once the current transaction, if any, has committed. */
+    public void publish(Invalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(invalidation);
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /** Listener connection name, as seen in pg_stat_activity.application_name. */
+    public String getApplicationName() {
+        return "weebnet-invalidation-" + nodeId;
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        publisher = daemon(this::publishLoop, "invalidation-publisher");
+        listener = daemon(this::listenLoop, "invalidation-listener");
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        publisher.interrupt();
+        listener.interrupt();
+        closeQuietly(listenConnection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enqueue(Invalidation invalidation) {
+        if (!outbox.offer(invalidation)) {
+            flushPending.set(true);
+        }
+    }
+
+    private void publishLoop() {
+        while (running) {
+            try {
+                Set<Invalidation> batch = new LinkedHashSet<>();
+                batch.add(outbox.take());
+                // Let a burst accumulate so it goes out in one payload
+                long lingerUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                long remaining;
+                while ((remaining = lingerUntil - System.nanoTime()) > 0) {
+                    Invalidation next = outbox.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                outbox.drainTo(batch);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(Set<Invalidation> batch) {
+        List<String> payloads = new ArrayList<>();
+        if (flushPending.getAndSet(false)) {
+            payloads.add(nodeId + " " + FLUSH_ALL);
+        } else {
+            StringBuilder payload = new StringBuilder(nodeId);
+            for (Invalidation invalidation : batch) {
+                String token = invalidation.encode();
+                if (payload.length() + 1 + token.length() > MAX_PAYLOAD) {
+                    payloads.add(payload.toString());
+                    payload.setLength(0);
+                    payload.append(nodeId);
+                }
+                payload.append(' ').append(token);
+            }
+            payloads.add(payload.toString());
+        }
+        try {
+            for (String payload : payloads) {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, payload);
+            }
+            sent.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not publish {} cache invalidations, other nodes will be told to flush", batch.size(), e);
+            flushPending.set(true);
+        }
+    }
+
+    private void listenLoop() {
+        boolean connectedBefore = false;
+        while (running) {
+            Properties properties = new Properties();
+            properties.setProperty("user", username);
+            properties.setProperty("password", password);
+            properties.setProperty("ApplicationName", getApplicationName());
+            try (Connection connection = DriverManager.getConnection(url, properties)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listening = true;
+                if (connectedBefore) {
+                    // Notifications sent while disconnected are gone: anything cached may be stale
+                    log.info("Cache invalidation listener reconnected, flushing local caches");
+                    reconnectFlushes.increment();
+                    listeners.forEach(Listener::flushAll);
+                }
+                connectedBefore = true;
+                receive(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, retrying in {} ms", reconnectDelayMillis, e);
+                }
+            } finally {
+                listening = false;
+                listenConnection = null;
+            }
+            try {
+                Thread.sleep(reconnectDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long lastTraffic = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications != null && notifications.length > 0) {
+                apply(notifications);
+                lastTraffic = System.nanoTime();
+            } else if (System.nanoTime() - lastTraffic > TimeUnit.MILLISECONDS.toNanos(keepaliveMillis)) {
+                // A silent channel and a dead connection look the same; a round trip tells them apart
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                lastTraffic = System.nanoTime();
+            }
+        }
+    }
+
+    private void apply(PGNotification[] notifications) {
+        Set<Invalidation> batch = new LinkedHashSet<>();
+        boolean flushAll = false;
+        for (PGNotification notification : notifications) {
+            String[] tokens = notification.getParameter().split(" ");
+            if (tokens[0].equals(nodeId)) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                if (tokens[i].equals(FLUSH_ALL)) {
+                    flushAll = true;
+                } else {
+                    Invalidation invalidation = Invalidation.decode(tokens[i]);
+                    if (invalidation != null) {
+                        batch.add(invalidation);
+                    }
+                }
+            }
+        }
+        if (flushAll) {
+            remoteFlushes.increment();
+            listeners.forEach(Listener::flushAll);
+        } else if (!batch.isEmpty()) {
+            received.increment(batch.size());
+            listeners.forEach(listener -> listener.apply(batch));
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Closing only to unblock the listener
+            }
+        }
+    }
+
+    private static Counter messages(String direction, MeterRegistry meterRegistry) {
+        return Counter.builder("weebnet.cache.invalidations")
+                .description("Invalidations sent to and applied from other nodes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private static Counter flushes(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("weebnet.cache.flushes")
+                .description("Full flushes of local caches")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.c3.weebnet_backend.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Approximate LRU eviction for the map-based caches: when a cache is full, the least recently used tenth of it
+ * is dropped in one pass, so the sort is paid once per many inserts. Only one thread evicts at a time; the others
+ * insert meanwhile, overshooting the bound by a few entries at most.
+ */
+final class LruEviction<V> {
+
+    private final int maxEntries;
+    private final ToLongFunction<V> lastUsed;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    LruEviction(int maxEntries, ToLongFunction<V> lastUsed) {
+        this.maxEntries = maxEntries;
+        this.lastUsed = lastUsed;
+    }
+
+    /** Makes room for one more entry if the map is at its bound. */
+    void makeRoom(Map<?, V> entries) {
+        if (entries.size() < maxEntries || !lock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            if (excess <= 0) {
+                return;
+            }
+            long[] uses = entries.values().stream().mapToLong(lastUsed).toArray();
+            if (uses.length == 0) {
+                return;
+            }
+            Arrays.sort(uses);
+            long cutoff = uses[Math.min(excess, uses.length) - 1];
+            entries.values().removeIf(entry -> lastUsed.applyAsLong(entry) <= cutoff);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
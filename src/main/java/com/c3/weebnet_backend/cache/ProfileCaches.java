@@ -0,0 +1,65 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.dto.PublicationDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared parts of profile pages, keyed by user id: follower / following counts and the latest publications.
+ * Both are expensive for popular users (a count over all their followers, a page of publications with tags) and
+ * requested by everyone who opens their profile, so they are cached briefly and refreshed in the background.
+ *
+ * Background refreshes share one small pool; when it is full the refresh is skipped and the entry simply expires.
+ */
+@Component
+public class ProfileCaches {
+
+    private final ThreadPoolExecutor refreshExecutor;
+    private final RefreshingCache<Integer, long[]> followCounts;
+    private final RefreshingCache<Integer, List<PublicationDTO>> latestPublications;
+
+    public ProfileCaches(MeterRegistry meterRegistry,
+                         @Value("${weebnet.cache.profile.counts-ttl-ms:30000}") long countsTtlMillis,
+                         @Value("${weebnet.cache.profile.publications-ttl-ms:10000}") long publicationsTtlMillis,
+                         @Value("${weebnet.cache.profile.stale-grace-ms:30000}") long staleGraceMillis,
+                         @Value("${weebnet.cache.profile.early-refresh-beta:1.0}") double beta,
+                         @Value("${weebnet.cache.profile.max-entries:10000}") int maxEntries,
+                         @Value("${weebnet.cache.refresh-threads:4}") int refreshThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxEntries / 10 + 1), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Duration staleGrace = Duration.ofMillis(staleGraceMillis);
+        this.followCounts = new RefreshingCache<>("profile.counts", Duration.ofMillis(countsTtlMillis), staleGrace,
+                beta, maxEntries, refreshExecutor, meterRegistry);
+        this.latestPublications = new RefreshingCache<>("profile.publications", Duration.ofMillis(publicationsTtlMillis),
+                staleGrace, beta, maxEntries, refreshExecutor, meterRegistry);
+    }
+
+    /** [followers, following] */
+    public RefreshingCache<Integer, long[]> followCounts() {
+        return followCounts;
+    }
+
+    public RefreshingCache<Integer, List<PublicationDTO>> latestPublications() {
+        return latestPublications;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,182 @@
+package com.c3.weebnet_backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * In-process TTL cache whose loads go through a {@link SingleFlight}, so an expiring hot key costs one query
+ * however many requests want it at that moment.
+ *
+ * Two more things keep expiry off the request path:
+ * - Probabilistic early refresh (XFetch): each hit may start a background reload shortly before expiry, with a
+ *   probability that grows as expiry nears and with how long the last load took. Hot keys are usually reloaded
+ *   before anyone sees them expire, and keys expiring together are not all reloaded at once.
+ * - Stale-while-revalidate: for staleGrace after expiry the old value is still served while a single background
+ *   reload runs. Only a key that is absent or older than that makes the caller wait.
+ *
+ * Values may be null (cached as such). Metrics: weebnet.cache.requests{cache, result=hit|stale|miss},
+ * weebnet.cache.early_refreshes{cache}, weebnet.cache.size{cache} and the {@link SingleFlight} load counters.
+ */
+public final class RefreshingCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingCache.class);
+
+    private final String name;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<K, V> singleFlight;
+    private final Executor refreshExecutor;
+    private final long ttlNanos;
+    private final long staleGraceNanos;
+    private final double beta;
+    private final int maxEntries;
+    private static final int INVALIDATION_STRIPES = 64;
+
+    // Bumped by invalidations, per stripe of keys: a load that started before one must not store its result
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter earlyRefreshes;
+
+    /**
+     * @param beta early refresh aggressiveness: 1 is the usual setting, above 1 refreshes earlier, 0 disables it
+     */
+    public RefreshingCache(String name, Duration ttl, Duration staleGrace, double beta, int maxEntries,
+                           Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.singleFlight = new SingleFlight<>(name, meterRegistry);
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = ttl.toNanos();
+        this.staleGraceNanos = staleGrace.toNanos();
+        this.beta = beta;
+        this.maxEntries = maxEntries;
+        this.hits = requests(name, "hit", meterRegistry);
+        this.staleHits = requests(name, "stale", meterRegistry);
+        this.misses = requests(name, "miss", meterRegistry);
+        this.earlyRefreshes = Counter.builder("weebnet.cache.early_refreshes")
+                .description("Background reloads started before expiry")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("weebnet.cache.size", entries, ConcurrentHashMap::size)
+                .description("Entries held, including expired ones still within their stale grace")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (now - entry.expiresAt < 0) {
+                if (refreshEarly(entry, now)) {
+                    earlyRefreshes.increment();
+                    refreshAsync(key, loader);
+                }
+                hits.increment();
+                return entry.value;
+            }
+            if (now - entry.expiresAt < staleGraceNanos) {
+                staleHits.increment();
+                refreshAsync(key, loader);
+                return entry.value;
+            }
+        }
+        misses.increment();
+        return singleFlight.load(key, k -> loadAndStore(k, loader));
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * XFetch: refresh when now - delta * beta * ln(random) reaches the expiry, delta being the last load time.
+     * ln(random) is negative, so the check looks ahead by a random amount, usually a few load times.
+     */
+    private boolean refreshEarly(Entry<V> entry, long now) {
+        if (beta <= 0) {
+            return false;
+        }
+        double lookAhead = -entry.loadNanos * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return now + (long) lookAhead - entry.expiresAt >= 0;
+    }
+
+    private void refreshAsync(K key, Function<? super K, ? extends V> loader) {
+        singleFlight.loadAsync(key, k -> loadAndStore(k, loader), refreshExecutor).exceptionally(e -> {
+            // The current value keeps being served until it leaves its stale grace
+            log.debug("Background refresh of {} in cache {} failed", key, name, e);
+            return null;
+        });
+    }
+
+    private V loadAndStore(K key, Function<? super K, ? extends V> loader) {
+        int stripe = stripe(key);
+        long generation = invalidations.get(stripe);
+        long start = System.nanoTime();
+        V value = loader.apply(key);
+        long end = System.nanoTime();
+        if (invalidations.get(stripe) == generation) {
+            store(key, new Entry<>(value, end + ttlNanos, end - start));
+        }
+        return value;
+    }
+
+    private void store(K key, Entry<V> entry) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(existing -> now - existing.expiresAt >= staleGraceNanos);
+            if (entries.size() >= maxEntries) {
+                return; // full of live entries: serve this value uncached rather than evict a hot one
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+
+    private static Counter requests(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("weebnet.cache.requests")
+                .description("Cache lookups by outcome")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private final long loadNanos;
+
+        private Entry(V value, long expiresAt, long loadNanos) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.loadNanos = loadNanos;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.c3.weebnet_backend.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /actuator/l2cache: hit, miss and put counts of every Hibernate second-level cache region since startup, with the
+ * number of entries each holds. The same counters are exported as hibernate.second.level.cache.* meters; this view
+ * adds the hit ratio and natural-id totals for a quick look without a dashboard.
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Map<String, Object> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, counts(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        region.getElementCountInMemory()));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("regions", regions);
+        result.put("naturalId", counts(statistics.getNaturalIdCacheHitCount(), statistics.getNaturalIdCacheMissCount(),
+                statistics.getNaturalIdCachePutCount(), -1));
+        result.put("naturalIdQueries", statistics.getNaturalIdQueryExecutionCount());
+        return result;
+    }
+
+    private static Map<String, Object> counts(long hits, long misses, long puts, long entries) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("hits", hits);
+        counts.put("misses", misses);
+        counts.put("puts", puts);
+        counts.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        if (entries >= 0) {
+            counts.put("entries", entries);
+        }
+        return counts;
+    }
+}
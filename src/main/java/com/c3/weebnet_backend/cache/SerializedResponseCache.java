@@ -0,0 +1,245 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.profiling.SerializationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.c3.weebnet_backend.config.WireFormatConfig;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of JSON responses already serialized to bytes, for the most viewed profile and publication cards.
+ *
+ * Entries are keyed by resource and id and remember the versions of the rows they were built from: the card's
+ * own row and, for a publication, its author's, whose summary is embedded. A lookup with any other versions
+ * misses, so a card is never served once either row has changed, even before the invalidation arrives.
+ * Large bodies are also kept gzipped. The cache is bounded by the total number of bytes held and evicts the
+ * least recently used entries first.
+ */
+@Component
+public class SerializedResponseCache {
+
+    public static final String USER_CARD = "user";
+    public static final String PUBLICATION_CARD = "publication";
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final int gzipMinBytes;
+
+    // Not synchronized: a ReentrantLock does not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   @Value("${weebnet.cache.responses.max-bytes:67108864}") long maxBytes,
+                                   @Value("${weebnet.cache.responses.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Returns the cached response for this exact version, or null.
+     */
+    public CachedResponse get(String resource, int id, long version) {
+        return get(resource, id, version, 0);
+    }
+
+    /**
+     * Returns the cached response for this exact version and version of the embedded row, or null.
+     */
+    public CachedResponse get(String resource, int id, long version, long embeddedVersion) {
+        lock.lock();
+        try {
+            CachedResponse cached = entries.get(key(resource, id));
+            return cached != null && cached.version == version && cached.embeddedVersion == embeddedVersion
+                    ? cached : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CachedResponse put(String resource, int id, long version, Object body) throws IOException {
+        return put(resource, id, version, 0, body);
+    }
+
+    /**
+     * Serializes the body with the application ObjectMapper (same output as the MVC converter) and caches it.
+     */
+    public CachedResponse put(String resource, int id, long version, long embeddedVersion, Object body)
+            throws IOException {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        event.type = body.getClass().getSimpleName();
+        event.format = "json";
+        event.bytes = json.length;
+        event.commit();
+        byte[] gzipped = json.length >= gzipMinBytes ? gzip(json) : null;
+        CachedResponse cached = new CachedResponse(version, embeddedVersion, json, gzipped);
+        if (cached.size() > maxBytes) {
+            return cached;
+        }
+
+        lock.lock();
+        try {
+            CachedResponse previous = entries.put(key(resource, id), cached);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += cached.size();
+            evictOverBudget();
+        } finally {
+            lock.unlock();
+        }
+        return cached;
+    }
+
+    public void invalidate(String resource, int id) {
+        lock.lock();
+        try {
+            CachedResponse removed = entries.remove(key(resource, id));
+            if (removed != null) {
+                totalBytes -= removed.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            totalBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long totalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether the client takes JSON ahead of the binary formats, and so can be answered from this cache.
+     * Other clients get the body negotiated by the message converters.
+     */
+    public static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        // Stable: equal qualities keep the client's order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                return false;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR) || mediaType.includes(WireFormatConfig.APPLICATION_SMILE)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The cached bytes as the response body, gzipped when the client accepts it.
+     */
+    public ResponseEntity<byte[]> toResponse(CachedResponse cached, HttpServletRequest request,
+                                             ResponseEntity.BodyBuilder response) {
+        byte[] body = cached.json;
+        response.varyBy(HttpHeaders.ACCEPT);
+        if (cached.gzipped != null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = cached.gzipped;
+            }
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).contentLength(body.length).body(body);
+    }
+
+    // Called with the lock held
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    private static String key(String resource, int id) {
+        return resource + ':' + id;
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * A serialized response body and the row versions it was built from.
+     */
+    public static final class CachedResponse {
+        private final long version;
+        private final long embeddedVersion;
+        private final byte[] json;
+        private final byte[] gzipped;
+
+        private CachedResponse(long version, long embeddedVersion, byte[] json, byte[] gzipped) {
+            this.version = version;
+            this.embeddedVersion = embeddedVersion;
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getEmbeddedVersion() {
+            return embeddedVersion;
+        }
+
+        long size() {
+            return json.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+}
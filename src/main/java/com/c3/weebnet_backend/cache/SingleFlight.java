@@ -0,0 +1,108 @@
+package com.c3.weebnet_backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader, callers arriving while
+ * it runs wait for its result instead of issuing their own query. Nothing is kept once the load completes; put a
+ * cache in front ({@link RefreshingCache}) to also reuse results over time.
+ *
+ * Counted in weebnet.cache.loads{cache, result=executed|coalesced}.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = loads(name, "executed", meterRegistry);
+        this.coalesced = loads(name, "coalesced", meterRegistry);
+    }
+
+    /**
+     * Loads on the calling thread, or waits for the load of the same key already in flight.
+     * A failure is rethrown to every caller that waited for it.
+     */
+    public V load(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        executed.increment();
+        try {
+            V value = loader.apply(key);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Starts a load on the executor unless one is already in flight for the key, and returns without waiting.
+     */
+    public CompletableFuture<V> loadAsync(K key, Function<? super K, ? extends V> loader, Executor executor) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        executed.increment();
+        try {
+            executor.execute(() -> {
+                try {
+                    mine.complete(loader.apply(key));
+                } catch (Throwable e) {
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter loads(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("weebnet.cache.loads")
+                .description("Cache loads run against the database, and loads that joined one already running")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
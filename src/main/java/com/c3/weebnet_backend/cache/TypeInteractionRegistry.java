@@ -0,0 +1,70 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import com.c3.weebnet_backend.repositories.TypeInteractionRepository;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory view of type_interactions, loaded once at startup, so writers resolve a type name such as
+ * {@link TypeInteraction#MENTION} to its id without a query or a subselect.
+ *
+ * Loading the rows also puts them in the second-level cache, where lazy Notification.type and Interaction.type
+ * associations find them. The table is reference data; a name missing from the snapshot triggers a single reload
+ * before it is reported, so rows added by a migration while the application runs are still picked up.
+ */
+@Component
+public class TypeInteractionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeInteractionRegistry.class);
+
+    private final TypeInteractionRepository typeInteractionRepository;
+
+    private volatile Map<String, TypeInteraction> byName = Map.of();
+
+    public TypeInteractionRegistry(TypeInteractionRepository typeInteractionRepository) {
+        this.typeInteractionRepository = typeInteractionRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        Map<String, TypeInteraction> types = new HashMap<>();
+        for (TypeInteraction type : typeInteractionRepository.findAll()) {
+            types.put(type.getType(), type);
+        }
+        byName = Map.copyOf(types);
+        log.info("Loaded {} interaction types: {}", types.size(), types.keySet());
+    }
+
+    /**
+     * The type with this name (the constants of {@link TypeInteraction}).
+     *
+     * @throws IllegalStateException if type_interactions has no such row
+     */
+    public TypeInteraction get(String name) {
+        TypeInteraction type = byName.get(name);
+        if (type == null) {
+            load();
+            type = byName.get(name);
+        }
+        if (type == null) {
+            throw new IllegalStateException("Missing type_interactions row for " + name);
+        }
+        return type;
+    }
+
+    public int idOf(String name) {
+        return get(name).getId();
+    }
+
+    public Collection<TypeInteraction> all() {
+        return byName.values();
+    }
+}
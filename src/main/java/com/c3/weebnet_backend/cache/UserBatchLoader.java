@@ -0,0 +1,107 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import com.c3.weebnet_backend.services.ThumbnailService;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Request-scoped batch loader for user summaries, in the style of DataLoader.
+ *
+ * While a response is being assembled, callers register the user ids they need with {@link #load(int)}
+ * and get a future back. {@link #dispatch()} then resolves every pending id at once: first from the
+ * {@link UserProfileCache}, then with a single IN query for the misses. Ids already resolved earlier in
+ * the same request are answered from the loader itself, so a page of N items costs at most one query
+ * for its authors instead of N lazy loads.
+ */
+@Component
+@RequestScope
+public class UserBatchLoader {
+
+    private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
+    private final ThumbnailService thumbnailService;
+
+    private final Map<Integer, CompletableFuture<UserSummaryDTO>> futures = new HashMap<>();
+    private final Set<Integer> pending = new LinkedHashSet<>();
+
+    public UserBatchLoader(UserRepository userRepository, UserProfileCache userProfileCache,
+                           ThumbnailService thumbnailService) {
+        this.userRepository = userRepository;
+        this.userProfileCache = userProfileCache;
+        this.thumbnailService = thumbnailService;
+    }
+
+    /**
+     * Registers a user id to be resolved on the next dispatch.
+     * The future completes with null if the user does not exist.
+     */
+    public CompletableFuture<UserSummaryDTO> load(int userId) {
+        return futures.computeIfAbsent(userId, id -> {
+            pending.add(id);
+            return new CompletableFuture<>();
+        });
+    }
+
+    /**
+     * Resolves all ids registered since the last dispatch.
+     */
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Integer> batch = new ArrayList<>(pending);
+        pending.clear();
+
+        Map<Integer, UserSummaryDTO> resolved = userProfileCache.getAll(batch);
+        List<Integer> misses = new ArrayList<>();
+        for (Integer userId : batch) {
+            if (!resolved.containsKey(userId)) {
+                misses.add(userId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<UserSummaryDTO> loaded = userRepository.findSummariesByIdIn(misses);
+            // Cached with their avatar variants; ThumbnailService drops the entry when new ones are generated
+            thumbnailService.attachAvatarVariants(loaded);
+            userProfileCache.putAll(loaded);
+            for (UserSummaryDTO user : loaded) {
+                resolved.put(user.getId(), user);
+            }
+        }
+
+        for (Integer userId : batch) {
+            futures.get(userId).complete(resolved.get(userId));
+        }
+    }
+
+    /**
+     * Convenience for the common case: registers all ids, dispatches once and returns the summaries by id.
+     */
+    public Map<Integer, UserSummaryDTO> loadMany(Iterable<Integer> userIds) {
+        List<Integer> ids = new ArrayList<>();
+        for (Integer userId : userIds) {
+            load(userId);
+            ids.add(userId);
+        }
+        dispatch();
+        Map<Integer, UserSummaryDTO> result = new HashMap<>();
+        for (Integer userId : ids) {
+            UserSummaryDTO user = futures.get(userId).join();
+            if (user != null) {
+                result.put(userId, user);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache of user summaries keyed by user id.
+ * Entries expire after a fixed TTL and are dropped explicitly when the user changes. When the cache is full,
+ * expired entries go first, then the least recently read ones.
+ */
+@Component
+public class UserProfileCache {
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LruEviction<Entry> eviction;
+
+    public UserProfileCache(@Value("${weebnet.cache.profiles.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${weebnet.cache.profiles.max-entries:50000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+        this.eviction = new LruEviction<>(maxEntries, entry -> entry.lastRead);
+    }
+
+    /**
+     * Returns the cached summaries among the given ids; missing or expired ids are absent from the result.
+     */
+    public Map<Integer, UserSummaryDTO> getAll(Collection<Integer> userIds) {
+        long now = System.currentTimeMillis();
+        Map<Integer, UserSummaryDTO> found = new HashMap<>();
+        for (Integer userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt > now) {
+                entry.lastRead = System.nanoTime();
+                found.put(userId, entry.value);
+            }
+        }
+        return found;
+    }
+
+    public void putAll(Collection<UserSummaryDTO> users) {
+        if (entries.size() + users.size() > maxEntries) {
+            evictExpired();
+        }
+        long now = System.currentTimeMillis();
+        for (UserSummaryDTO user : users) {
+            if (!entries.containsKey(user.getId())) {
+                eviction.makeRoom(entries);
+            }
+            entries.put(user.getId(), new Entry(user, now + ttlMillis, System.nanoTime()));
+        }
+    }
+
+    public void invalidate(int userId) {
+        entries.remove(userId);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private static final class Entry {
+        private final UserSummaryDTO value;
+        private final long expiresAt;
+        // System.nanoTime(); racy updates are fine, eviction only needs an approximate order
+        private volatile long lastRead;
+
+        private Entry(UserSummaryDTO value, long expiresAt, long lastRead) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.lastRead = lastRead;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.c3.weebnet_backend.config;
+
+import com.c3.weebnet_backend.config.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import java.util.Map;
+
+/**
+ * Puts an {@link AdaptiveConcurrencyLimitFilter} in front of every other filter. Exported as weebnet.limiter.limit,
+ * weebnet.limiter.inflight and weebnet.limiter.rejections{priority}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "weebnet.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${weebnet.limiter.initial-limit:50}") int initialLimit,
+            @Value("${weebnet.limiter.min-limit:10}") int minLimit,
+            @Value("${weebnet.limiter.max-limit:400}") int maxLimit,
+            @Value("${weebnet.limiter.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${weebnet.limiter.smoothing:0.2}") double smoothing,
+            @Value("${weebnet.limiter.window-ms:250}") long windowMillis,
+            @Value("${weebnet.limiter.min-window-samples:20}") int minWindowSamples,
+            @Value("${weebnet.limiter.share.high:1.25}") double highShare,
+            @Value("${weebnet.limiter.share.normal:1.0}") double normalShare,
+            @Value("${weebnet.limiter.share.low:0.7}") double lowShare) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, initialLimit, minLimit, maxLimit, rttTolerance, smoothing,
+                windowMillis, minWindowSamples,
+                Map.of(Priority.HIGH, highShare, Priority.NORMAL, normalShare, Priority.LOW, lowShare));
+    }
+
+    // First of all filters: a shed request should cost nothing, not even authentication
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            CorsConfigurationSource corsConfigurationSource,
+            @Value("${weebnet.limiter.retry-after-seconds:1}") int retryAfterSeconds) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new AdaptiveConcurrencyLimitFilter(limiter, corsConfigurationSource,
+                        retryAfterSeconds));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,139 @@
+package com.c3.weebnet_backend.config;
+
+import com.c3.weebnet_backend.config.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds requests over the {@link AdaptiveConcurrencyLimiter} with an immediate 503 and Retry-After, before any
+ * other filter has spent work on them, instead of letting them queue in Tomcat until the client gives up.
+ *
+ * Sign-in, registration and writes are high priority, reads carrying a token normal, and anonymous reads low.
+ * Actuator endpoints are never limited, so the service can still be observed while it is shedding.
+ *
+ * The 503 is written before the CORS filter runs, so it carries the CORS headers itself: otherwise the browser
+ * hides it from the frontend as a network error and the client cannot honour Retry-After.
+ */
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final int retryAfterSeconds;
+
+    public AdaptiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                          CorsConfigurationSource corsConfigurationSource, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire(priorityOf(request))) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+            allowOrigin(request, response);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streamed responses hold their slot until they complete, without counting as a latency sample
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(startNanos));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(startNanos, true);
+            }
+        }
+    }
+
+    private void allowOrigin(HttpServletRequest request, HttpServletResponse response) {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin == null) {
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        CorsConfiguration configuration = corsConfigurationSource.getCorsConfiguration(request);
+        String allowed = configuration != null ? configuration.checkOrigin(origin) : null;
+        if (allowed == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowed);
+        if (Boolean.TRUE.equals(configuration.getAllowCredentials())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/") || path.equals("/api/users/register")) {
+            return Priority.HIGH;
+        }
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method)) {
+            return Priority.HIGH;
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.startsWith("Bearer ") ? Priority.NORMAL : Priority.LOW;
+    }
+
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-dispatches keep the same slot
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(startNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.c3.weebnet_backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows observed latency (a gradient algorithm, after Netflix's concurrency-limits).
+ *
+ * Latencies of completed requests are averaged over short windows. The long-term average of those windows is the
+ * latency the service has when it is not overloaded; when a window is slower than rtt-tolerance times that, work
+ * is queueing somewhere (pool, database, CPU) and the limit shrinks in proportion, down to half per window. When
+ * latency is back to normal the limit grows by about its square root per window, but only while the service is
+ * actually using at least half of it, so an idle night does not leave an enormous limit behind.
+ *
+ * Each priority may fill its share of the limit: low-priority requests are refused first, while high-priority
+ * ones are allowed a little past it.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        /** Sign-in, registration and writes. */
+        HIGH,
+        /** Authenticated reads. */
+        NORMAL,
+        /** Anonymous reads. */
+        LOW
+    }
+
+    private static final double MIN_GRADIENT = 0.5;
+    // Windows averaged into the long-term latency
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final Map<Priority, Double> shares;
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    // Current window, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInflight;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, long windowMillis, int minWindowSamples,
+                                      Map<Priority, Double> shares) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.minWindowSamples = minWindowSamples;
+        this.shares = new EnumMap<>(shares);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStart = System.nanoTime();
+
+        Gauge.builder("weebnet.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("weebnet.limiter.inflight", inflight, AtomicInteger::get)
+                .description("Requests being served")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejections.put(priority, Counter.builder("weebnet.limiter.rejections")
+                    .description("Requests shed with 503 because the concurrency limit was reached")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Admits a request if its priority's share of the limit is not used up. Every admitted request must be
+     * followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * shares.get(priority)));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejections.get(priority).increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request. Its latency only feeds the limit when it measures service time, which is not the
+     * case of long-lived streamed responses.
+     */
+    public void release(long startNanos, boolean sample) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (sample) {
+            long now = System.nanoTime();
+            onSample(now - startNanos, inflightBefore, now);
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    void onSample(long rttNanos, int inflightAtEnd, long now) {
+        lock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInflight = Math.max(windowMaxInflight, inflightAtEnd);
+            if (windowSamples < minWindowSamples || now - windowStart < windowNanos) {
+                return;
+            }
+            double shortRtt = (double) windowRttSum / windowSamples;
+            int maxInflight = windowMaxInflight;
+            windowStart = now;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowMaxInflight = 0;
+            adjust(shortRtt, maxInflight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private void adjust(double shortRtt, int maxInflight) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        }
+        // After a sustained slowdown the long-term average lags behind the recovered latency: catch up faster
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        double current = limit;
+        if (maxInflight < current / 2) {
+            return; // not using the limit: latency says nothing about it
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
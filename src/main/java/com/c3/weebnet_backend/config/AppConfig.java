@@ -1,5 +1,6 @@
 package com.c3.weebnet_backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -17,11 +18,13 @@ public class AppConfig {
      * Defines a bean for the password encoder.
      * The BCryptPasswordEncoder is a widely used implementation for securely hashing passwords.
      * 
+     * It is wrapped in a TimedPasswordEncoder so hashing time is exported as weebnet.password.hash.
+     *
      * @return A BCryptPasswordEncoder instance to be used for password encoding.
      */
     @Primary // Marks this bean as the primary choice when multiple candidates are available.
     @Bean // Indicates that this method returns a bean to be managed by the Spring container.
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Returns a new instance of BCryptPasswordEncoder.
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry); // Returns a timed BCryptPasswordEncoder.
     }
 }
\ No newline at end of file
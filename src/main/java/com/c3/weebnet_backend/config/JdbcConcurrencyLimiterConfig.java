@@ -0,0 +1,33 @@
+package com.c3.weebnet_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link ConcurrencyLimitedDataSource} in front of the connection pool.
+ * Enabled together with virtual threads (weebnet.jdbc.limiter.enabled defaults to spring.threads.virtual.enabled).
+ */
+@Configuration
+@ConditionalOnProperty(name = "weebnet.jdbc.limiter.enabled", havingValue = "true")
+public class JdbcConcurrencyLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(
+            @Value("${weebnet.jdbc.limiter.max-concurrency:10}") int maxConcurrency,
+            @Value("${weebnet.jdbc.limiter.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
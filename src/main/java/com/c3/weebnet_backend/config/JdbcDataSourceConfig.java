@@ -0,0 +1,33 @@
+package com.c3.weebnet_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * The JDBC pool behind JPA, the repositories and JdbcTemplate, declared explicitly.
+ *
+ * DataSourceAutoConfiguration backs off as soon as an R2DBC ConnectionFactory exists, and spring.r2dbc.url makes
+ * R2dbcAutoConfiguration create one for the streaming read API: without this bean the application would have no
+ * DataSource at all. It is bound from the usual spring.datasource.* and spring.datasource.hikari.* properties.
+ */
+@Configuration
+public class JdbcDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
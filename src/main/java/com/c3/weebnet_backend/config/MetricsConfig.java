@@ -0,0 +1,36 @@
+package com.c3.weebnet_backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics, scraped from /actuator/prometheus.
+ *
+ * HTTP endpoints, Spring Data repositories and Hibernate are measured by Spring Boot itself; this class enables
+ * {@code @Timed} on services and caps tag cardinality. Percentiles and histograms are set per meter in
+ * application.properties (management.metrics.distribution.*).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Past this many distinct values of a tag, new series are dropped instead of growing the registry forever
+    static final int MAX_TAG_VALUES = 100;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> tagCardinalityLimits() {
+        return registry -> registry.config()
+                .meterFilter(MeterFilter.maximumAllowableTags("http.server.requests", "uri", MAX_TAG_VALUES, MeterFilter.deny()))
+                .meterFilter(MeterFilter.maximumAllowableTags("spring.data.repository.invocations", "method", MAX_TAG_VALUES, MeterFilter.deny()))
+                .meterFilter(MeterFilter.maximumAllowableTags("weebnet.service", "method", MAX_TAG_VALUES, MeterFilter.deny()))
+                .meterFilter(MeterFilter.maximumAllowableTags("weebnet.sql.statement", "shape", 2 * MAX_TAG_VALUES, MeterFilter.deny()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.c3.weebnet_backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource that times every statement executed through its connections and reports it to {@link SqlMonitor}.
+ *
+ * Connections and statements are wrapped in JDK proxies, so it works under Hibernate, JdbcTemplate and the
+ * driver's own APIs alike (unwrap sees through the proxies). The monitor is looked up on first use, because the
+ * DataSource is created before the meter registry.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<SqlMonitor> monitorProvider;
+    private volatile SqlMonitor monitor;
+
+    public MonitoredDataSource(DataSource targetDataSource, ObjectProvider<SqlMonitor> monitorProvider) {
+        super(targetDataSource);
+        this.monitorProvider = monitorProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitored(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitored(super.getConnection(username, password));
+    }
+
+    private Connection monitored(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object unwrapped = unwrap(proxy, method, args);
+                    if (unwrapped != null) {
+                        return unwrapped;
+                    }
+                    Object result = invoke(connection, method, args);
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                        return monitored((Statement) result, method.getReturnType(), (String) args[0]);
+                    }
+                    if (name.equals("createStatement")) {
+                        return monitored((Statement) result, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement monitored(Statement statement, Class<?> type, String preparedSql) {
+        Class<?> proxyType = type == CallableStatement.class ? CallableStatement.class
+                : type == PreparedStatement.class ? PreparedStatement.class : Statement.class;
+        String[] batchSql = new String[1];
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { proxyType },
+                (proxy, method, args) -> {
+                    Object unwrapped = unwrap(proxy, method, args);
+                    if (unwrapped != null) {
+                        return unwrapped;
+                    }
+                    String name = method.getName();
+                    if (name.equals("addBatch") && args != null && args.length == 1 && batchSql[0] == null) {
+                        batchSql[0] = (String) args[0];
+                    }
+                    if (!name.startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                            : preparedSql != null ? preparedSql : batchSql[0];
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        monitor().statementExecuted(sql, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private SqlMonitor monitor() {
+        SqlMonitor current = monitor;
+        if (current == null) {
+            current = monitorProvider.getObject();
+            monitor = current;
+        }
+        return current;
+    }
+
+    // Let drivers and pools see through the proxies (e.g. unwrap(PGConnection.class))
+    private static Object unwrap(Object proxy, Method method, Object[] args) {
+        if ((method.getName().equals("unwrap") || method.getName().equals("isWrapperFor"))
+                && args != null && args[0] instanceof Class<?> type && type.isInstance(proxy)) {
+            return method.getName().equals("unwrap") ? proxy : Boolean.TRUE;
+        }
+        return null;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.c3.weebnet_backend.config;
 
 import com.c3.weebnet_backend.security.JwtAuthenticationFilter;
 import com.c3.weebnet_backend.services.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -15,6 +19,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -94,7 +100,12 @@ public class SecurityConfig implements WebMvcConfigurer {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS configuration.
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF protection (not needed for stateless APIs).
                 .authorizeHttpRequests(authRequest -> authRequest
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Completion of streamed responses; the request was authorized on its first dispatch.
                         .requestMatchers("/api/auth/**", "/api/users/register", "/swagger-ui/**", "/swagger-ui.html").permitAll() // Allow public access to these endpoints.
+                        .requestMatchers(HttpMethod.GET, "/api/media/**").permitAll() // Images are loaded by <img> tags, which cannot send the JWT.
+                        .requestMatchers(SecurityConfig::onManagementServer).permitAll() // Actuator on management.server.port, which is not reachable from outside.
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll() // Load balancer checks.
+                        .requestMatchers("/actuator/**").denyAll() // If actuator shares the public port, the JFR dump, caches and metrics stay closed.
                         .anyRequest().authenticated() // Require authentication for all other endpoints.
                 )
                 .sessionManagement(sessionManager ->
@@ -104,6 +115,16 @@ public class SecurityConfig implements WebMvcConfigurer {
                 .build();
     }
 
+    /**
+     * Whether the request reached the actuator's own server (management.server.port) rather than the public one.
+     * @param request The incoming request.
+     * @return true for requests served by the management child context.
+     */
+    static boolean onManagementServer(HttpServletRequest request) {
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(request.getServletContext());
+        return context != null && WebServerApplicationContext.hasServerNamespace(context, "management");
+    }
+
     /**
      * Configures CORS (Cross-Origin Resource Sharing) settings.
      * This method allows requests from specific origins and with specific methods and headers.
@@ -0,0 +1,107 @@
+package com.c3.weebnet_backend.config;
+
+import com.c3.weebnet_backend.exceptions.StatementBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives the timing of every JDBC statement from {@link MonitoredDataSource}.
+ *
+ * Each statement is timed per shape (weebnet.sql.statement{shape}), logged when slower than the threshold with
+ * the request that issued it, and counted against that request. At the end of a request
+ * {@link #requestFinished} reports shapes repeated often enough to look like an N+1 loop.
+ */
+public class SqlMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitor.class);
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final int repeatThreshold;
+    private final int statementBudget;
+    private final boolean failOnBudget;
+    private final Counter nPlusOneCounter;
+
+    // Prepared statements reuse a few hundred SQL strings, so normalizing each one once is enough
+    private static final int MAX_CACHED_SHAPES = 2000;
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlMonitor(MeterRegistry registry, long slowThresholdMillis, int repeatThreshold, int statementBudget,
+                      boolean failOnBudget) {
+        this.registry = registry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.repeatThreshold = repeatThreshold;
+        this.statementBudget = statementBudget;
+        this.failOnBudget = failOnBudget;
+        this.nPlusOneCounter = Counter.builder("weebnet.sql.n_plus_one")
+                .description("Requests that ran the same statement shape at least weebnet.sql.repeat-threshold times")
+                .register(registry);
+    }
+
+    void statementExecuted(String sql, long nanos) {
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = SqlShapes.shapeOf(sql);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.put(sql, shape);
+            }
+        }
+        Timer timer = timers.get(shape);
+        if (timer == null) {
+            timer = Timer.builder("weebnet.sql.statement")
+                    .description("JDBC statement execution time by statement shape")
+                    .tag("shape", shape)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            if (timers.size() < MAX_CACHED_SHAPES) {
+                timers.put(shape, timer);
+            }
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+
+        SqlRequestContext context = SqlRequestContext.current();
+        if (nanos >= slowThresholdNanos) {
+            log.warn("Slow SQL ({} ms) in {}: {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    context != null ? context.path() : "background task", shape);
+        }
+        if (context == null) {
+            return;
+        }
+        context.record(shape, nanos);
+        if (failOnBudget && statementBudget > 0 && context.getStatements() > statementBudget) {
+            throw new StatementBudgetExceededException(context.path() + " exceeded its budget of " + statementBudget
+                    + " SQL statements; shapes so far: " + context.getShapeCounts());
+        }
+    }
+
+    void requestFinished(SqlRequestContext context) {
+        if (context.getStatements() == 0) {
+            return;
+        }
+        boolean repeated = false;
+        for (Map.Entry<String, Integer> shape : context.getShapeCounts().entrySet()) {
+            if (shape.getValue() >= repeatThreshold) {
+                repeated = true;
+                log.warn("Possible N+1 in {}: {} executions of {}", context.path(), shape.getValue(), shape.getKey());
+            }
+        }
+        if (repeated) {
+            nPlusOneCounter.increment();
+        }
+        if (statementBudget > 0 && context.getStatements() > statementBudget) {
+            log.warn("{} issued {} SQL statements ({} ms), over the budget of {}", context.path(), context.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(context.getTotalNanos()), statementBudget);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} issued {} SQL statements ({} ms)", context.path(), context.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(context.getTotalNanos()));
+        }
+    }
+}
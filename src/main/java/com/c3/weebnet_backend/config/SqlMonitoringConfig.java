@@ -0,0 +1,54 @@
+package com.c3.weebnet_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link MonitoredDataSource} in front of the connection pool: slow statement logging, per-request
+ * statement counts, N+1 detection and per-shape latency histograms. Replaces show-sql for finding out which
+ * request runs which query.
+ */
+@Configuration
+@ConditionalOnProperty(name = "weebnet.sql.monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSource(ObjectProvider<SqlMonitor> sqlMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof MonitoredDataSource)) {
+                    return new MonitoredDataSource(dataSource, sqlMonitor);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlMonitor sqlMonitor(MeterRegistry meterRegistry,
+                                 @Value("${weebnet.sql.slow-threshold-ms:200}") long slowThresholdMillis,
+                                 @Value("${weebnet.sql.repeat-threshold:10}") int repeatThreshold,
+                                 @Value("${weebnet.sql.statement-budget:0}") int statementBudget,
+                                 @Value("${weebnet.sql.fail-on-budget:false}") boolean failOnBudget) {
+        return new SqlMonitor(meterRegistry, slowThresholdMillis, repeatThreshold, statementBudget, failOnBudget);
+    }
+
+    // Ahead of Spring Security, so the statements of authentication count towards the request too
+    @Bean
+    public FilterRegistrationBean<SqlRequestTrackingFilter> sqlRequestTrackingFilter(SqlMonitor sqlMonitor) {
+        FilterRegistrationBean<SqlRequestTrackingFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestTrackingFilter(sqlMonitor));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,66 @@
+package com.c3.weebnet_backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements issued while handling one HTTP request. Bound to the request thread by
+ * {@link SqlRequestTrackingFilter}; statements run outside a request (schedulers, startup) have no context.
+ */
+final class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletRequest request;
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+    private int statements;
+    private long totalNanos;
+
+    private SqlRequestContext(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    static SqlRequestContext begin(HttpServletRequest request) {
+        SqlRequestContext context = new SqlRequestContext(request);
+        CURRENT.set(context);
+        return context;
+    }
+
+    static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns how many times this shape has now run in the request.
+     */
+    int record(String shape, long nanos) {
+        statements++;
+        totalNanos += nanos;
+        return shapeCounts.merge(shape, 1, Integer::sum);
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    Map<String, Integer> getShapeCounts() {
+        return shapeCounts;
+    }
+
+    // The route template (/api/publications/{id}) once the handler is known, the raw URI before that
+    String path() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,34 @@
+package com.c3.weebnet_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds a {@link SqlRequestContext} to the request thread, so every statement can be attributed to the request
+ * that issued it, and hands the totals to {@link SqlMonitor} when the request completes.
+ */
+public class SqlRequestTrackingFilter extends OncePerRequestFilter {
+
+    private final SqlMonitor sqlMonitor;
+
+    public SqlRequestTrackingFilter(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestContext context = SqlRequestContext.begin(request);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlRequestContext.end();
+            sqlMonitor.requestFinished(context);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.c3.weebnet_backend.config;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a SQL statement to its shape: literals become ?, IN lists collapse to a single ?, whitespace and case
+ * are normalized. Statements that differ only in their parameters share a shape, which is what makes N+1 loops
+ * visible and keeps per-shape metrics bounded.
+ */
+public final class SqlShapes {
+
+    static final int MAX_LENGTH = 200;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$])-?\\d+(?:\\.\\d+)?(?![\\w$])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(?i)\\bvalues\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShapes() {
+    }
+
+    public static String shapeOf(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        shape = VALUES_ROWS.matcher(shape).replaceAll("values $1");
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) + "..." : shape;
+    }
+}
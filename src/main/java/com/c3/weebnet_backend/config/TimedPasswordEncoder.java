@@ -0,0 +1,58 @@
+package com.c3.weebnet_backend.config;
+
+import com.c3.weebnet_backend.profiling.PasswordHashEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times a {@link PasswordEncoder}, as a meter and as a JFR event. BCrypt is deliberately slow, so its cost shows up directly in login and
+ * registration latency and is worth watching when the work factor changes.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("weebnet.password.hash").tag("operation", "encode")
+                .publishPercentiles(0.5, 0.95, 0.99).register(registry);
+        this.matchesTimer = Timer.builder("weebnet.password.hash").tag("operation", "matches")
+                .publishPercentiles(0.5, 0.95, 0.99).register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = begin("encode");
+        try {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = begin("matches");
+        try {
+            Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+            return Boolean.TRUE.equals(matches);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static PasswordHashEvent begin(String operation) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,55 @@
+package com.c3.weebnet_backend.config;
+
+import com.c3.weebnet_backend.profiling.ProfiledBinaryHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary response formats, picked by the Accept header: application/cbor and application/x-jackson-smile are
+ * written from the same DTOs as JSON, with the application ObjectMapper's settings, and stay subject to response
+ * compression. JSON remains the default for clients that accept anything.
+ *
+ * Spring registers its own CBOR and Smile converters when the libraries are present, built from a default
+ * ObjectMapper (dates as timestamps, no Boot settings): they are replaced.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper objectMapper;
+
+    public WireFormatConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        // After the JSON converter, so */* still gets JSON
+        converters.add(new ProfiledBinaryHttpMessageConverter(cborMapper(objectMapper), MediaType.APPLICATION_CBOR));
+        converters.add(new ProfiledBinaryHttpMessageConverter(smileMapper(objectMapper), APPLICATION_SMILE));
+    }
+
+    public static ObjectMapper cborMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new CBORFactory());
+    }
+
+    // Pages repeat the same author names and tags: back-references make the repeats a byte or two each
+    public static ObjectMapper smileMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+    }
+}
@@ -0,0 +1,41 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.BatchRequestDTO;
+import com.c3.weebnet_backend.dto.BatchResultDTO;
+import com.c3.weebnet_backend.services.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Batch", description = "Several writes in one request")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    @Operation(summary = "Run a batch of operations", description = "Runs up to " + BatchRequestDTO.MAX_OPERATIONS +
+            " like, unlike, follow and unfollow operations in one transaction. Each operation gets its own result " +
+            "(201 created, 204 removed, 200 unchanged, 400 invalid, 404 unknown target) in request order.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch executed, see the per-operation results",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content)
+            })
+    @PostMapping
+    public ResponseEntity<List<BatchResultDTO>> execute(@Valid @RequestBody BatchRequestDTO batchRequestDTO, Principal principal) {
+        return ResponseEntity.ok(batchService.execute(principal.getName(), batchRequestDTO.getOperations()));
+    }
+}
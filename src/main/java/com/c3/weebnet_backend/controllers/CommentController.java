@@ -0,0 +1,56 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.CommentDTO;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.services.CommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/publications/{publicationId}/comments")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Comments", description = "Endpoints for publication comments")
+public class CommentController {
+
+    private final CommentService commentService;
+
+    public CommentController(CommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @Operation(summary = "List comments", description = "Lists the comments of a publication, newest first, with their authors.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "404", description = "Publication not found", content = @Content)
+            })
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<CommentDTO>> listComments(@PathVariable int publicationId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(commentService.listComments(publicationId, cursor, size));
+    }
+
+    @Operation(summary = "Comment on a publication", description = "Creates a comment and notifies mentioned users.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Comment created",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid comment", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Publication not found", content = @Content)
+            })
+    @PostMapping
+    public ResponseEntity<CommentDTO> createComment(@PathVariable int publicationId,
+                                                    @RequestBody @Valid CommentDTO commentDTO,
+                                                    Principal principal) {
+        CommentDTO created = commentService.createComment(principal.getName(), publicationId, commentDTO);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+}
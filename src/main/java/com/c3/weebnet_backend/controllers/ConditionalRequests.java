@@ -0,0 +1,39 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.repositories.PublicationVersionView;
+import com.c3.weebnet_backend.repositories.VersionView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for conditional GETs.
+ * ETags are strong and change whenever the row version does; Last-Modified comes from updated_at.
+ * A publication's validators also cover its author, whose summary is part of the body.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static String etag(String resource, int id, long version) {
+        return "\"" + resource + "-" + id + "-" + version + "\"";
+    }
+
+    static String etag(String resource, int id, long version, long authorVersion) {
+        return "\"" + resource + "-" + id + "-" + version + "-" + authorVersion + "\"";
+    }
+
+    static String etag(String resource, VersionView version) {
+        return etag(resource, version.getId(), version.getVersion());
+    }
+
+    static String etag(String resource, PublicationVersionView version) {
+        return etag(resource, version.getId(), version.getVersion(), version.getAuthorVersion());
+    }
+
+    // Returns -1 when unknown, which Spring treats as "no Last-Modified"
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
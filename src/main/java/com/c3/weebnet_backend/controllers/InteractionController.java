@@ -0,0 +1,38 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.InteractionDTO;
+import com.c3.weebnet_backend.services.InteractionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/interactions")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Interactions", description = "Records views and shares for analytics")
+public class InteractionController {
+
+    private final InteractionService interactionService;
+
+    public InteractionController(InteractionService interactionService) {
+        this.interactionService = interactionService;
+    }
+
+    @Operation(summary = "Record an interaction", description = "Records a view or share of a publication. " +
+            "The event is journaled and reaches the database in the background.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Interaction recorded", content = @Content),
+                    @ApiResponse(responseCode = "400", description = "Invalid interaction", content = @Content)
+            })
+    @PostMapping
+    public ResponseEntity<Void> recordInteraction(@Valid @RequestBody InteractionDTO interactionDTO, Principal principal) {
+        interactionService.record(principal.getName(), interactionDTO.getType(), interactionDTO.getPublicationId());
+        return ResponseEntity.accepted().build();
+    }
+}
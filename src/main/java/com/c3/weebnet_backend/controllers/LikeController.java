@@ -0,0 +1,37 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.LikeDTO;
+import com.c3.weebnet_backend.services.LikeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/publications/{publicationId}/likes")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Likes", description = "Endpoints for publication likes")
+public class LikeController {
+
+    private final LikeService likeService;
+
+    public LikeController(LikeService likeService) {
+        this.likeService = likeService;
+    }
+
+    @Operation(summary = "List likes", description = "Lists the users who liked a publication, most recent first.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Likes retrieved successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "404", description = "Publication not found", content = @Content)
+            })
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<LikeDTO>> listLikes(@PathVariable int publicationId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(likeService.listLikes(publicationId, cursor, size));
+    }
+}
@@ -0,0 +1,177 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.MediaDTO;
+import com.c3.weebnet_backend.services.MediaStorageService;
+import com.c3.weebnet_backend.services.ThumbnailService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/media")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Media", description = "Upload and serve images")
+public class MediaController {
+
+    // Tomcat sendfile request attributes (NIO connector): the file is sent by the kernel after the servlet returns
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Content-addressed: the bytes behind a URL can never change
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final MediaStorageService mediaStorageService;
+    private final ThumbnailService thumbnailService;
+
+    public MediaController(MediaStorageService mediaStorageService, ThumbnailService thumbnailService) {
+        this.mediaStorageService = mediaStorageService;
+        this.thumbnailService = thumbnailService;
+    }
+
+    @Operation(summary = "Upload an image", description = "Stores an image under its content hash and returns its URL. " +
+            "Uploading the same bytes again returns the same URL.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Image stored", content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "415", description = "Not a supported image", content = @Content)
+            })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MediaDTO> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        MediaDTO media = mediaStorageService.store(file);
+        thumbnailService.submitUrl(media.getUrl());
+        return new ResponseEntity<>(media, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Download an image", description = "Serves a stored image. Supports single byte ranges and If-None-Match.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Image", content = @Content(mediaType = "image/*")),
+                    @ApiResponse(responseCode = "206", description = "Partial content", content = @Content(mediaType = "image/*")),
+                    @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Image not found", content = @Content),
+                    @ApiResponse(responseCode = "416", description = "Range not satisfiable", content = @Content)
+            })
+    @GetMapping("/{name}")
+    public void serve(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> file = mediaStorageService.find(name);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + name.substring(0, name.lastIndexOf('.')) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(file.get());
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaStorageService.contentTypeOf(name));
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.get().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        // Non-sendfile fallback (e.g. TLS or another connector). The servlet stream is not a FileChannel target,
+        // so transferTo copies through a heap buffer here; only the sendfile path above is zero-copy.
+        try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Parses a single "bytes=a-b", "bytes=a-" or "bytes=-n" range.
+     * Returns {start, end} (inclusive), an empty array to ignore the header (multiple ranges or another unit),
+     * or null when the range cannot be satisfied.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.NotificationDTO;
+import com.c3.weebnet_backend.services.NotifcationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Notifications", description = "Endpoints for user notifications")
+public class NotificationController {
+
+    private final NotifcationService notificationService;
+
+    public NotificationController(NotifcationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Operation(summary = "List my notifications", description = "Lists the notifications of the authenticated user, newest first.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully",
+                            content = @Content(mediaType = "application/json"))
+            })
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<NotificationDTO>> listNotifications(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size,
+                                                                            Principal principal) {
+        return ResponseEntity.ok(notificationService.listNotifications(principal.getName(), cursor, size));
+    }
+}
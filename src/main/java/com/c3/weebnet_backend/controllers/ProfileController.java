@@ -0,0 +1,46 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.ProfileDTO;
+import com.c3.weebnet_backend.services.ProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/profiles")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Profiles", description = "Profile pages assembled in a single request")
+public class ProfileController {
+
+    private final ProfileService profileService;
+
+    public ProfileController(ProfileService profileService) {
+        this.profileService = profileService;
+    }
+
+    @Operation(summary = "Get a profile page", description = "User card, follower and following counts, whether the " +
+            "authenticated user follows them, latest publications and mutual followers, loaded in parallel. " +
+            "Parts that miss their time budget are null and listed in degraded.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Profile, possibly partial",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ProfileDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
+            })
+    @GetMapping("/{username}")
+    public ResponseEntity<ProfileDTO> getProfile(@PathVariable String username, Principal principal) {
+        ProfileDTO profile = profileService.getProfile(username, principal.getName());
+        if (!profile.getDegraded().isEmpty()) {
+            // A partial page must not be kept by the browser in place of the complete one
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(profile);
+        }
+        return ResponseEntity.ok(profile);
+    }
+}
@@ -0,0 +1,135 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.cache.SerializedResponseCache;
+import com.c3.weebnet_backend.cache.SerializedResponseCache.CachedResponse;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.PublicationCreateDTO;
+import com.c3.weebnet_backend.dto.PublicationAnalyticsDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.repositories.PublicationVersionView;
+import com.c3.weebnet_backend.services.AnalyticsService;
+import com.c3.weebnet_backend.services.PublicationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/publications")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Publications", description = "Endpoints for publications")
+public class PublicationController {
+
+    private final PublicationService publicationService;
+    private final SerializedResponseCache responseCache;
+    private final AnalyticsService analyticsService;
+
+    public PublicationController(PublicationService publicationService, SerializedResponseCache responseCache,
+                                 AnalyticsService analyticsService) {
+        this.publicationService = publicationService;
+        this.responseCache = responseCache;
+        this.analyticsService = analyticsService;
+    }
+
+    @Operation(summary = "Create a publication", description = "Publishes a text with optional photo and tags, and notifies mentioned users.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Publication created",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid publication", content = @Content)
+            })
+    @PostMapping
+    public ResponseEntity<PublicationDTO> createPublication(@RequestBody @Valid PublicationCreateDTO publicationDTO,
+                                                            Principal principal) {
+        PublicationDTO created = publicationService.createPublication(principal.getName(), publicationDTO);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get a publication", description = "Retrieves a publication with its author and tags. " +
+            "Supports If-None-Match and If-Modified-Since: an unchanged publication returns 304 without being loaded.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Publication found",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "304", description = "Publication not modified", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Publication not found", content = @Content)
+            })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getPublication(@PathVariable int id, WebRequest request,
+                                            HttpServletRequest servletRequest) throws IOException {
+        Optional<PublicationVersionView> version = publicationService.getPublicationVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ConditionalRequests.etag("publication", version.get());
+        long lastModified = ConditionalRequests.lastModified(version.get().getUpdatedAt());
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // The author's version read above: the summary loaded below is at least that recent
+        long authorVersion = version.get().getAuthorVersion();
+        boolean json = SerializedResponseCache.acceptsJson(servletRequest);
+        CachedResponse card = json
+                ? responseCache.get(SerializedResponseCache.PUBLICATION_CARD, id, version.get().getVersion(), authorVersion)
+                : null;
+        if (card == null) {
+            PublicationDTO publication = publicationService.getPublicationDTO(id);
+            if (!json) {
+                return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+                        .eTag(ConditionalRequests.etag("publication", id, publication.getVersion(), authorVersion))
+                        .body(publication);
+            }
+            card = responseCache.put(SerializedResponseCache.PUBLICATION_CARD, id, publication.getVersion(), authorVersion,
+                    publication);
+        }
+        return responseCache.toResponse(card, servletRequest,
+                ResponseEntity.ok().eTag(ConditionalRequests.etag("publication", id, card.getVersion(), card.getEmbeddedVersion())));
+    }
+
+    @Operation(summary = "Search publications", description = "Full-text search over publication text, ranked by relevance. " +
+            "Optionally filtered by tag. Use nextCursor from the response to fetch the following page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Search results",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Missing query or invalid cursor", content = @Content)
+            })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<PublicationDTO>> search(@RequestParam("q") String query,
+                                                                @RequestParam(required = false) String tag,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(publicationService.search(query, tag, cursor, size));
+    }
+
+    @Operation(summary = "Publication analytics", description = "Views, approximate unique viewers, likes and comments " +
+            "of one of your publications over a time range (ISO date-times, rounded to the hour). " +
+            "Defaults to the whole life of the publication.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid time range", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Not the author of the publication", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Publication not found", content = @Content)
+            })
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<PublicationAnalyticsDTO> getAnalytics(@PathVariable int id,
+                                                                @RequestParam(required = false)
+                                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                @RequestParam(required = false)
+                                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                Principal principal) {
+        return ResponseEntity.ok(analyticsService.getPublicationAnalytics(principal.getName(), id, from, to));
+    }
+}
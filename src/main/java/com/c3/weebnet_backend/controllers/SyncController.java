@@ -0,0 +1,38 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.SyncDTO;
+import com.c3.weebnet_backend.services.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Sync", description = "Incremental sync for clients that keep local data")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @Operation(summary = "Changes since a cursor", description = "Returns what changed for the authenticated user since " +
+            "the cursor of the previous sync: new notifications, new publications of followed users, profile changes " +
+            "of followed users and follower, following and like count deltas, plus the next cursor. Without a valid " +
+            "cursor, or when too much changed, the response only has reset=true and a fresh cursor.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                            content = @Content(mediaType = "application/json"))
+            })
+    @GetMapping
+    public ResponseEntity<SyncDTO> sync(@RequestParam(required = false) String since, Principal principal) {
+        return ResponseEntity.ok(syncService.sync(principal.getName(), since));
+    }
+}
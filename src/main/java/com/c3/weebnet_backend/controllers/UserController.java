@@ -1,21 +1,29 @@
 package com.c3.weebnet_backend.controllers;
 
+import com.c3.weebnet_backend.cache.SerializedResponseCache;
+import com.c3.weebnet_backend.cache.SerializedResponseCache.CachedResponse;
 import com.c3.weebnet_backend.dto.UserLoginDTO;
 import com.c3.weebnet_backend.dto.UserRegisterDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
 import com.c3.weebnet_backend.entities.User;
 import com.c3.weebnet_backend.exceptions.AgeRestrictionException;
+import com.c3.weebnet_backend.repositories.VersionView;
 import com.c3.weebnet_backend.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,10 +35,14 @@ import java.util.Optional;
 @Tag(name = "Users", description = "Endpoints for user management")
 public class UserController {
 
+    static final int MAX_IDS = 100;
+
     private final UserService userService;
+    private final SerializedResponseCache responseCache;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, SerializedResponseCache responseCache) {
         this.userService = userService;
+        this.responseCache = responseCache;
     }
 
     @Operation(summary = "Get all users", description = "Retrieves a list of all registered users.",
@@ -45,18 +57,63 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
-    @Operation(summary = "Get user by username", description = "Retrieves user information by their username.",
+    @Operation(summary = "Get users by id", description = "Public cards of up to " + MAX_IDS + " users in request " +
+            "order, resolved from the profile cache and one IN query for the rest. Unknown ids are left out.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Users found",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserSummaryDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Too many ids", content = @Content)
+            })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserSummaryDTO>> getUsersByIds(@RequestParam List<Integer> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids per request");
+        }
+        return ResponseEntity.ok(userService.getSummaries(ids));
+    }
+
+    @Operation(summary = "Get user by username", description = "Retrieves user information by their username. " +
+            "Supports If-None-Match and If-Modified-Since: an unchanged profile returns 304 without being loaded.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "User found",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = User.class))),
+                    @ApiResponse(responseCode = "304", description = "User not modified", content = @Content),
                     @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
             })
     @GetMapping("/{username}")
-    public ResponseEntity<?> getUser(@PathVariable String username) {
-        Optional<User> user = userService.getUserByUsername(username);
-        return user.map(ResponseEntity::ok)
-                   .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> getUser(@PathVariable String username, WebRequest request,
+                                     HttpServletRequest servletRequest) throws IOException {
+        // Only the version columns are read to validate the client's copy
+        Optional<VersionView> version = userService.getUserVersion(username);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ConditionalRequests.etag("user", version.get());
+        long lastModified = ConditionalRequests.lastModified(version.get().getUpdatedAt());
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        boolean json = SerializedResponseCache.acceptsJson(servletRequest);
+        CachedResponse card = json
+                ? responseCache.get(SerializedResponseCache.USER_CARD, version.get().getId(), version.get().getVersion())
+                : null;
+        if (card == null) {
+            Optional<User> user = userService.getUserByUsername(username);
+            if (user.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!json) {
+                return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+                        .eTag(ConditionalRequests.etag("user", user.get().getId(), user.get().getVersion()))
+                        .body(user.get());
+            }
+            card = responseCache.put(SerializedResponseCache.USER_CARD, user.get().getId(), user.get().getVersion(), user.get());
+        }
+        return responseCache.toResponse(card, servletRequest,
+                ResponseEntity.ok().eTag(ConditionalRequests.etag("user", version.get().getId(), card.getVersion())));
     }
 
     @Operation(summary = "Register a new user", description = "Registers a new user and returns a token.",
@@ -0,0 +1,50 @@
+package com.c3.weebnet_backend.dto;
+
+/**
+ * One write of a batch. like and unlike take a publicationId, follow and unfollow a userId.
+ * Operations are checked one by one, so a malformed one only fails its own result.
+ */
+public class BatchOperationDTO {
+
+    public static final String LIKE = "like";
+    public static final String UNLIKE = "unlike";
+    public static final String FOLLOW = "follow";
+    public static final String UNFOLLOW = "unfollow";
+
+    private String op;
+    private Integer publicationId;
+    private Integer userId;
+
+    public BatchOperationDTO() {
+    }
+
+    public BatchOperationDTO(String op, Integer publicationId, Integer userId) {
+        this.op = op;
+        this.publicationId = publicationId;
+        this.userId = userId;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public Integer getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(Integer publicationId) {
+        this.publicationId = publicationId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+}
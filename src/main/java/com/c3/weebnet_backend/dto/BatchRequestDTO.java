@@ -0,0 +1,26 @@
+package com.c3.weebnet_backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchRequestDTO {
+
+    public static final int MAX_OPERATIONS = 50;
+
+    @NotNull(message = "Operations are required")
+    @Size(min = 1, max = MAX_OPERATIONS, message = "A batch holds between 1 and " + MAX_OPERATIONS + " operations")
+    private List<BatchOperationDTO> operations;
+
+    public BatchRequestDTO() {
+    }
+
+    public List<BatchOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperationDTO> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,55 @@
+package com.c3.weebnet_backend.dto;
+
+/**
+ * Outcome of one batch operation, at the same index as in the request. status follows HTTP semantics:
+ * 201 created, 204 removed, 200 nothing to change (already liked, not following...), 400 invalid, 404 unknown target.
+ */
+public class BatchResultDTO {
+
+    private int index;
+    private String op;
+    private int status;
+    private String error;
+
+    public BatchResultDTO() {
+    }
+
+    public BatchResultDTO(int index, String op, int status, String error) {
+        this.index = index;
+        this.op = op;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
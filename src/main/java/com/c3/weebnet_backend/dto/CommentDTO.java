@@ -0,0 +1,81 @@
+package com.c3.weebnet_backend.dto;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for comments.
+ * Only text is read from requests; the remaining fields are filled in by the server.
+ */
+public class CommentDTO {
+
+    private int id;
+
+    @NotBlank(message = "Text is required")
+    @Size(max = 200, message = "Comment must not exceed 200 characters")
+    private String text;
+
+    private int publicationId;
+    private int authorId;
+    private UserSummaryDTO author;
+    private LocalDateTime createdAt;
+
+    public CommentDTO() {
+    }
+
+    public CommentDTO(int id, String text, int publicationId, int authorId, LocalDateTime createdAt) {
+        this.id = id;
+        this.text = text;
+        this.publicationId = publicationId;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(int publicationId) {
+        this.publicationId = publicationId;
+    }
+
+    public int getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(int authorId) {
+        this.authorId = authorId;
+    }
+
+    public UserSummaryDTO getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(UserSummaryDTO author) {
+        this.author = author;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
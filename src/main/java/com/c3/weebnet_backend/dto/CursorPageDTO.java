@@ -0,0 +1,38 @@
+package com.c3.weebnet_backend.dto;
+
+import java.util.List;
+
+/**
+ * A page of results paginated by keyset.
+ * nextCursor is opaque to clients: it is sent back unchanged to fetch the following page
+ * and is null when there are no more results.
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
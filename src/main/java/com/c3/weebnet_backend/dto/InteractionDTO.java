@@ -0,0 +1,38 @@
+package com.c3.weebnet_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Interaction reported by the client. Likes and comments are recorded by the server when they are created,
+ * so clients only report the interactions it cannot see: views and shares.
+ */
+public class InteractionDTO {
+
+    @NotBlank(message = "Type is required")
+    @Pattern(regexp = "view|share", message = "Type must be view or share")
+    private String type;
+
+    @Positive(message = "Publication id must be positive")
+    private int publicationId;
+
+    public InteractionDTO() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(int publicationId) {
+        this.publicationId = publicationId;
+    }
+}
@@ -0,0 +1,53 @@
+package com.c3.weebnet_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class LikeDTO {
+
+    private int id;
+    private int publicationId;
+    private UserSummaryDTO user;
+    private LocalDateTime createdAt;
+
+    public LikeDTO() {
+    }
+
+    public LikeDTO(int id, int publicationId, UserSummaryDTO user, LocalDateTime createdAt) {
+        this.id = id;
+        this.publicationId = publicationId;
+        this.user = user;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(int publicationId) {
+        this.publicationId = publicationId;
+    }
+
+    public UserSummaryDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserSummaryDTO user) {
+        this.user = user;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
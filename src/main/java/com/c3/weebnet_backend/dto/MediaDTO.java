@@ -0,0 +1,54 @@
+package com.c3.weebnet_backend.dto;
+
+/**
+ * Result of a media upload. url can be stored as users.photo or publications.photo.
+ */
+public class MediaDTO {
+
+    private String hash;
+    private String url;
+    private String contentType;
+    private long size;
+
+    public MediaDTO() {
+    }
+
+    public MediaDTO(String hash, String url, String contentType, long size) {
+        this.hash = hash;
+        this.url = url;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,63 @@
+package com.c3.weebnet_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class NotificationDTO {
+
+    private int id;
+    private String type;
+    private String content;
+    private UserSummaryDTO giver;
+    private LocalDateTime createdAt;
+
+    public NotificationDTO() {
+    }
+
+    public NotificationDTO(int id, String type, String content, UserSummaryDTO giver, LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.content = content;
+        this.giver = giver;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public UserSummaryDTO getGiver() {
+        return giver;
+    }
+
+    public void setGiver(UserSummaryDTO giver) {
+        this.giver = giver;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
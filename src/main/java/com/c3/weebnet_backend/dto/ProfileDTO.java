@@ -0,0 +1,95 @@
+package com.c3.weebnet_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything a profile page shows, in one response.
+ *
+ * Parts that did not load within their time budget are null and listed in degraded
+ * (counts, following, publications, mutualFollowers); clients render the rest and may retry later.
+ */
+public class ProfileDTO {
+
+    private UserSummaryDTO user;
+    private String bio;
+    private Long followerCount;
+    private Long followingCount;
+    private Boolean following;
+    private List<PublicationDTO> latestPublications;
+    private List<UserSummaryDTO> mutualFollowers;
+    private List<String> degraded = new ArrayList<>();
+
+    public ProfileDTO() {
+    }
+
+    public ProfileDTO(UserSummaryDTO user, String bio) {
+        this.user = user;
+        this.bio = bio;
+    }
+
+    public UserSummaryDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserSummaryDTO user) {
+        this.user = user;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    public Long getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(Long followerCount) {
+        this.followerCount = followerCount;
+    }
+
+    public Long getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Long followingCount) {
+        this.followingCount = followingCount;
+    }
+
+    // Whether the authenticated user follows this profile; null on one's own profile
+    public Boolean getFollowing() {
+        return following;
+    }
+
+    public void setFollowing(Boolean following) {
+        this.following = following;
+    }
+
+    public List<PublicationDTO> getLatestPublications() {
+        return latestPublications;
+    }
+
+    public void setLatestPublications(List<PublicationDTO> latestPublications) {
+        this.latestPublications = latestPublications;
+    }
+
+    public List<UserSummaryDTO> getMutualFollowers() {
+        return mutualFollowers;
+    }
+
+    public void setMutualFollowers(List<UserSummaryDTO> mutualFollowers) {
+        this.mutualFollowers = mutualFollowers;
+    }
+
+    public List<String> getDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(List<String> degraded) {
+        this.degraded = degraded;
+    }
+}
@@ -0,0 +1,88 @@
+package com.c3.weebnet_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Engagement of a publication over [from, to). Likes and comments are exact counts; uniqueViewers is a
+ * HyperLogLog estimate (about 2% error), and views only include events already compacted from the journal.
+ */
+public class PublicationAnalyticsDTO {
+
+    private int publicationId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long views;
+    private long uniqueViewers;
+    private long likes;
+    private long comments;
+
+    public PublicationAnalyticsDTO() {
+    }
+
+    public PublicationAnalyticsDTO(int publicationId, LocalDateTime from, LocalDateTime to, long views,
+                                   long uniqueViewers, long likes, long comments) {
+        this.publicationId = publicationId;
+        this.from = from;
+        this.to = to;
+        this.views = views;
+        this.uniqueViewers = uniqueViewers;
+        this.likes = likes;
+        this.comments = comments;
+    }
+
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(int publicationId) {
+        this.publicationId = publicationId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+
+    public long getUniqueViewers() {
+        return uniqueViewers;
+    }
+
+    public void setUniqueViewers(long uniqueViewers) {
+        this.uniqueViewers = uniqueViewers;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+
+    public void setLikes(long likes) {
+        this.likes = likes;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+
+    public void setComments(long comments) {
+        this.comments = comments;
+    }
+}
@@ -0,0 +1,54 @@
+package com.c3.weebnet_backend.dto;
+
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+
+public class PublicationCreateDTO {
+
+    @NotBlank(message = "Text is required")
+    @Size(max = 500, message = "Text must not exceed 500 characters")
+    private String text;
+
+    @Nullable
+    @Pattern(regexp = "^((https?|ftp)://.*|/api/media/[0-9a-f]{64}\\.(jpg|png|gif|webp))$", message = "Photo must be a valid URL or an uploaded image")
+    private String photo;
+
+    @Nullable
+    @Size(max = 10, message = "A publication can have at most 10 tags")
+    private List<@NotBlank @Size(max = 50, message = "Tag must not exceed 50 characters") String> tags;
+
+    public PublicationCreateDTO() {
+    }
+
+    public PublicationCreateDTO(String text, String photo, List<String> tags) {
+        this.text = text;
+        this.photo = photo;
+        this.tags = tags;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getPhoto() {
+        return photo;
+    }
+
+    public void setPhoto(String photo) {
+        this.photo = photo;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
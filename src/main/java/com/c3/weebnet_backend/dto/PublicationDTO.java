@@ -0,0 +1,107 @@
+package com.c3.weebnet_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) for publications returned by the API.
+ * The author is embedded as a UserSummaryDTO resolved in batch, never as the full User entity.
+ */
+public class PublicationDTO {
+
+    private int id;
+    private String text;
+    private String photo;
+    // Resized copies of photo by width, smallest first; absent until the thumbnails are generated
+    private Map<Integer, String> photoVariants;
+    private int authorId;
+    private UserSummaryDTO author;
+    private LocalDateTime createdAt;
+    private List<String> tags;
+    private long version;
+
+    public PublicationDTO() {
+    }
+
+    public PublicationDTO(int id, String text, String photo, int authorId, LocalDateTime createdAt, List<String> tags) {
+        this.id = id;
+        this.text = text;
+        this.photo = photo;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+        this.tags = tags;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getPhoto() {
+        return photo;
+    }
+
+    public void setPhoto(String photo) {
+        this.photo = photo;
+    }
+
+    public Map<Integer, String> getPhotoVariants() {
+        return photoVariants;
+    }
+
+    public void setPhotoVariants(Map<Integer, String> photoVariants) {
+        this.photoVariants = photoVariants;
+    }
+
+    public int getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(int authorId) {
+        this.authorId = authorId;
+    }
+
+    public UserSummaryDTO getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(UserSummaryDTO author) {
+        this.author = author;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,85 @@
+package com.c3.weebnet_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What changed for a user since a sync cursor. Empty parts are left out of the JSON, so a resume with nothing new
+ * is just the next cursor. When reset is true the client must reload its lists and keep the new cursor.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class SyncDTO {
+
+    private String cursor;
+    private Boolean reset;
+    private List<NotificationDTO> notifications = new ArrayList<>();
+    private List<PublicationDTO> timeline = new ArrayList<>();
+    private List<UserSummaryDTO> profiles = new ArrayList<>();
+    // followers, following, likes: changes since the cursor, non-zero only
+    private Map<String, Long> counters = new LinkedHashMap<>();
+
+    public SyncDTO() {
+    }
+
+    public SyncDTO(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public static SyncDTO reset(String cursor) {
+        SyncDTO sync = new SyncDTO(cursor);
+        sync.setReset(true);
+        return sync;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Boolean getReset() {
+        return reset;
+    }
+
+    public void setReset(Boolean reset) {
+        this.reset = reset;
+    }
+
+    public List<NotificationDTO> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<NotificationDTO> notifications) {
+        this.notifications = notifications;
+    }
+
+    public List<PublicationDTO> getTimeline() {
+        return timeline;
+    }
+
+    public void setTimeline(List<PublicationDTO> timeline) {
+        this.timeline = timeline;
+    }
+
+    public List<UserSummaryDTO> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(List<UserSummaryDTO> profiles) {
+        this.profiles = profiles;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+}
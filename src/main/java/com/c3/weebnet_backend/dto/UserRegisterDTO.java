@@ -41,7 +41,7 @@ public class UserRegisterDTO {
     
     
     @Nullable
-    @Pattern(regexp = "^(https?|ftp)://.*$", message = "Photo must be a valid URL")
+    @Pattern(regexp = "^((https?|ftp)://.*|/api/media/[0-9a-f]{64}\\.(jpg|png|gif|webp))$", message = "Photo must be a valid URL or an uploaded image")
     private String photo;
 
     public UserRegisterDTO() {
@@ -0,0 +1,67 @@
+package com.c3.weebnet_backend.dto;
+
+import java.util.Map;
+
+/**
+ * Public "card" of a user, embedded as the author of publications, comments, likes and notifications.
+ * It never carries private fields (email, cellphone, birth date, password).
+ */
+public class UserSummaryDTO {
+
+    private int id;
+    private String username;
+    private String fullname;
+    private String photo;
+    // Resized copies of photo by width, smallest first; absent until the thumbnails are generated
+    private Map<Integer, String> photoVariants;
+
+    public UserSummaryDTO() {
+    }
+
+    public UserSummaryDTO(int id, String username, String fullname, String photo) {
+        this.id = id;
+        this.username = username;
+        this.fullname = fullname;
+        this.photo = photo;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getFullname() {
+        return fullname;
+    }
+
+    public void setFullname(String fullname) {
+        this.fullname = fullname;
+    }
+
+    public String getPhoto() {
+        return photo;
+    }
+
+    public void setPhoto(String photo) {
+        this.photo = photo;
+    }
+
+    public Map<Integer, String> getPhotoVariants() {
+        return photoVariants;
+    }
+
+    public void setPhotoVariants(Map<Integer, String> photoVariants) {
+        this.photoVariants = photoVariants;
+    }
+}
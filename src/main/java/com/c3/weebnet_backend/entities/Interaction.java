@@ -0,0 +1,78 @@
+package com.c3.weebnet_backend.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Analytics record of a like, comment or share. Rows are bulk-loaded from the interaction journal
+ * (see InteractionCompactor), never saved one by one. The user and publication are plain ids without foreign
+ * keys, so deleting either never blocks a load. Views are too many to keep as rows: they are aggregated into
+ * publication_view_stats instead.
+ */
+@Entity
+@Table(name = "interactions")
+public class Interaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "type", nullable = false)
+    private TypeInteraction type;
+
+    @Column(name = "id_user", nullable = false)
+    private int userId;
+
+    @Column(name = "id_publication", nullable = false)
+    private int publicationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public Interaction() {
+    }
+
+    // Getters y setters
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public TypeInteraction getType() {
+        return type;
+    }
+
+    public void setType(TypeInteraction type) {
+        this.type = type;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(int publicationId) {
+        this.publicationId = publicationId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
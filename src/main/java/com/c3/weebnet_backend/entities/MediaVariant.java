@@ -0,0 +1,80 @@
+package com.c3.weebnet_backend.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * A resized copy of a stored image. The original itself is also recorded (at its own width), so a hash with
+ * any row here has already been processed.
+ */
+@Entity
+@Table(name = "media_variants", uniqueConstraints = @UniqueConstraint(columnNames = { "hash", "width" }))
+public class MediaVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private int width;
+
+    @Column(nullable = false)
+    private int height;
+
+    @Column(nullable = false, length = 80)
+    private String name;
+
+    public MediaVariant() {
+    }
+
+    public MediaVariant(String hash, int width, int height, String name) {
+        this.hash = hash;
+        this.width = width;
+        this.height = height;
+        this.name = name;
+    }
+
+    // Getters y setters
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,139 @@
+package com.c3.weebnet_backend.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "publications")
+public class Publication {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @NotBlank(message = "Text is required")
+    @Size(max = 500, message = "Text must not exceed 500 characters")
+    @Column(nullable = false, length = 500)
+    private String text;
+
+    @Column(nullable = true)
+    @Pattern(regexp = "^((https?|ftp)://.*|/api/media/[0-9a-f]{64}\\.(jpg|png|gif|webp))$", message = "Photo must be a valid URL or an uploaded image")
+    private String photo;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_user", nullable = false)
+    private User user;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @OneToMany(mappedBy = "publication", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<PublicationTag> tags = new ArrayList<>();
+
+    public Publication() {
+    }
+
+    public Publication(String text, String photo, User user) {
+        this.text = text;
+        this.photo = photo;
+        this.user = user;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters y setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getPhoto() {
+        return photo;
+    }
+
+    public void setPhoto(String photo) {
+        this.photo = photo;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<PublicationTag> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<PublicationTag> tags) {
+        this.tags = tags;
+    }
+
+    public void addTag(String tag) {
+        tags.add(new PublicationTag(this, tag));
+    }
+
+    @Override
+    public String toString() {
+        return "Publication{" + "id=" + id + ", text='" + text + '\'' + ", photo='" + photo + '\'' +
+                ", createdAt=" + createdAt + '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.c3.weebnet_backend.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+
+@Entity
+@Table(name = "publication_tags")
+public class PublicationTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_publication", nullable = false)
+    private Publication publication;
+
+    @NotBlank(message = "Tag is required")
+    @Size(max = 50, message = "Tag must not exceed 50 characters")
+    @Column(nullable = false, length = 50)
+    private String tag;
+
+    public PublicationTag() {
+    }
+
+    public PublicationTag(Publication publication, String tag) {
+        this.publication = publication;
+        this.tag = tag;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Publication getPublication() {
+        return publication;
+    }
+
+    public void setPublication(Publication publication) {
+        this.publication = publication;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+}
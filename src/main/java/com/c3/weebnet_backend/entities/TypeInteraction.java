@@ -0,0 +1,47 @@
+package com.c3.weebnet_backend.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+// Reference data: never written by the application, cached for good and resolved through TypeInteractionRegistry
+@Entity
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@Table(name = "type_interactions")
+public class TypeInteraction {
+
+    public static final String LIKE = "like";
+    public static final String COMMENT = "comment";
+    public static final String FOLLOW = "follow";
+    public static final String MENTION = "mention";
+    public static final String VIEW = "view";
+    public static final String SHARE = "share";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String type;
+
+    public TypeInteraction() {
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+}
@@ -3,10 +3,18 @@ package com.c3.weebnet_backend.entities;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+// Read on every authenticated request, written rarely: kept in the second-level cache, username lookups included
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Table(name = "users")
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class User {
@@ -17,6 +25,7 @@ public class User {
 
     @NotBlank(message = "Username is required")
     @Size(min = 4, max = 50, message = "Username must be between 4 and 50 characters")
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -44,9 +53,17 @@ public class User {
     private String bio;
 
     @Column(nullable = true)
-    @Pattern(regexp = "^(https?|ftp)://.*$", message = "Photo must be a valid URL")
+    @Pattern(regexp = "^((https?|ftp)://.*|/api/media/[0-9a-f]{64}\\.(jpg|png|gif|webp))$", message = "Photo must be a valid URL or an uploaded image")
     private String photo;
 
+    // Bumped by Hibernate on every update; ETags of the profile are derived from it
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     public User() {
     }
 
@@ -60,6 +77,12 @@ public class User {
         this.password = password;
     }
 
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters y setters
     public int getId() {
         return id;
@@ -133,6 +156,22 @@ public class User {
         this.photo = photo;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "User{" + "id=" + id + ", username='" + username + '\'' + ", fullname='" + fullname + '\'' +
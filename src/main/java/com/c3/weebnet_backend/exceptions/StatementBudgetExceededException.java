@@ -0,0 +1,12 @@
+package com.c3.weebnet_backend.exceptions;
+
+/**
+ * Thrown in strict mode (weebnet.sql.fail-on-budget=true, meant for tests) when a request issues more SQL
+ * statements than weebnet.sql.statement-budget allows.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
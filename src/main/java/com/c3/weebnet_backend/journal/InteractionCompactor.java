@@ -0,0 +1,133 @@
+package com.c3.weebnet_backend.journal;
+
+import com.c3.weebnet_backend.analytics.ViewStatsStore;
+import com.c3.weebnet_backend.cache.TypeInteractionRegistry;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves closed journal segments into the database: views are folded into the hourly aggregates of
+ * {@link ViewStatsStore}, every other interaction becomes a row of the interactions table.
+ *
+ * Each segment is loaded with a single COPY, in the same transaction that records its name in
+ * interaction_segments. If the process dies between the commit and the file delete, the next run finds the
+ * name already recorded and only deletes the file, so no event is loaded twice.
+ */
+@Component
+public class InteractionCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionCompactor.class);
+
+    private static final String COPY_INTERACTIONS =
+            "COPY interactions (type, id_user, id_publication, created_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final InteractionJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewStatsStore viewStatsStore;
+    private final TypeInteractionRegistry typeInteractionRegistry;
+    private final long maxSegmentAgeMillis;
+
+    public InteractionCompactor(InteractionJournal journal, JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate, ViewStatsStore viewStatsStore,
+                                TypeInteractionRegistry typeInteractionRegistry,
+                                @Value("${weebnet.journal.max-segment-age-ms:60000}") long maxSegmentAgeMillis) {
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.viewStatsStore = viewStatsStore;
+        this.typeInteractionRegistry = typeInteractionRegistry;
+        this.maxSegmentAgeMillis = maxSegmentAgeMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${weebnet.journal.compact-interval-ms:30000}")
+    public void compact() {
+        journal.rollIfOlderThan(maxSegmentAgeMillis);
+        try {
+            List<Path> segments = journal.closedSegments();
+            if (segments.isEmpty()) {
+                return;
+            }
+            Map<InteractionType, Integer> typeIds = loadTypeIds();
+            for (Path segment : segments) {
+                compact(segment, typeIds);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Interaction journal compaction failed", e);
+        }
+    }
+
+    private void compact(Path segment, Map<InteractionType, Integer> typeIds) {
+        try {
+            load(segment, typeIds);
+            Files.delete(segment);
+        } catch (IOException | RuntimeException e) {
+            // The segment stays on disk and is retried on the next run; the ones after it are still loaded
+            log.warn("Could not compact journal segment {}", segment.getFileName(), e);
+        }
+    }
+
+    private void load(Path segment, Map<InteractionType, Integer> typeIds) throws IOException {
+        String name = segment.getFileName().toString();
+        List<InteractionEvent> events = JournalSegment.readAll(segment);
+        String csv = toCsv(events, typeIds);
+
+        Long loaded = transactionTemplate.execute(status -> {
+            int inserted = jdbcTemplate.update(
+                    "INSERT INTO interaction_segments (name, records) VALUES (?, ?) ON CONFLICT (name) DO NOTHING",
+                    name, events.size());
+            if (inserted == 0) {
+                return 0L; // loaded by an earlier run that stopped before deleting the file
+            }
+            viewStatsStore.addViews(events);
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTERACTIONS, new StringReader(csv));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        });
+        log.debug("Loaded {} interaction events from {}", loaded, name);
+    }
+
+    private Map<InteractionType, Integer> loadTypeIds() {
+        Map<InteractionType, Integer> typeIds = new EnumMap<>(InteractionType.class);
+        for (InteractionType type : InteractionType.values()) {
+            typeIds.put(type, typeInteractionRegistry.idOf(type.getTypeName()));
+        }
+        return typeIds;
+    }
+
+    static String toCsv(List<InteractionEvent> events, Map<InteractionType, Integer> typeIds) {
+        StringBuilder csv = new StringBuilder(events.size() * 48);
+        for (InteractionEvent event : events) {
+            if (event.getType() == InteractionType.VIEW) {
+                continue; // aggregated, never stored one by one
+            }
+            csv.append(typeIds.get(event.getType())).append(',')
+                    .append(event.getUserId()).append(',')
+                    .append(event.getPublicationId()).append(',')
+                    .append(new Timestamp(event.getTimestamp())).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.c3.weebnet_backend.journal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * One journal record, stored in a fixed 24-byte little-endian layout:
+ *
+ * <pre>
+ *  0  long  timestamp (epoch millis)
+ *  8  int   user id
+ * 12  int   publication id
+ * 16  byte  type code ({@link InteractionType})
+ * 17  3 bytes padding (zero)
+ * 20  int   CRC32 of bytes 0-19
+ * </pre>
+ *
+ * The checksum is what makes a record committed: a record torn by a crash, or the zero-filled tail of a
+ * preallocated segment, fails the check and marks the end of the valid data.
+ */
+public final class InteractionEvent {
+
+    public static final int SIZE = 24;
+    private static final int CHECKSUMMED = 20;
+
+    private final InteractionType type;
+    private final int userId;
+    private final int publicationId;
+    private final long timestamp;
+
+    public InteractionEvent(InteractionType type, int userId, int publicationId, long timestamp) {
+        this.type = type;
+        this.userId = userId;
+        this.publicationId = publicationId;
+        this.timestamp = timestamp;
+    }
+
+    public InteractionType getType() {
+        return type;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Writes the record at the given absolute offset without moving the buffer's position.
+     */
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, timestamp);
+        buffer.putInt(offset + 8, userId);
+        buffer.putInt(offset + 12, publicationId);
+        buffer.put(offset + 16, type.getCode());
+        buffer.put(offset + 17, (byte) 0);
+        buffer.putShort(offset + 18, (short) 0);
+        buffer.putInt(offset + CHECKSUMMED, checksum(buffer, offset));
+    }
+
+    /**
+     * Reads the record at the given absolute offset, or returns null if it is not a complete record.
+     */
+    static InteractionEvent readFrom(ByteBuffer buffer, int offset) {
+        if (offset + SIZE > buffer.limit() || buffer.getInt(offset + CHECKSUMMED) != checksum(buffer, offset)) {
+            return null;
+        }
+        InteractionType type;
+        try {
+            type = InteractionType.fromCode(buffer.get(offset + 16));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new InteractionEvent(type, buffer.getInt(offset + 8), buffer.getInt(offset + 12), buffer.getLong(offset));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, CHECKSUMMED));
+        return (int) crc.getValue();
+    }
+}
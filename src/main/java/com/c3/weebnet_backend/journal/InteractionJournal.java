@@ -0,0 +1,178 @@
+package com.c3.weebnet_backend.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped journal of interaction events (views, likes, comments, shares).
+ *
+ * Recording an interaction is a 24-byte store into the active segment, so the request path never waits for
+ * PostgreSQL. Segments are named interactions-N.open while written and renamed to interactions-N.seg when they
+ * fill up or grow old; {@link InteractionCompactor} then bulk-loads the closed ones and deletes them.
+ * A segment still .open at startup was interrupted by a crash: it is cut after its last valid record and closed.
+ */
+@Component
+public class InteractionJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(InteractionJournal.class);
+
+    static final String OPEN_SUFFIX = ".open";
+    static final String CLOSED_SUFFIX = ".seg";
+    private static final String PREFIX = "interactions-";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private JournalSegment active;
+    private long nextSegmentId;
+
+    public InteractionJournal(@Value("${weebnet.journal.dir:./journal}") String directory,
+                              @Value("${weebnet.journal.segment-records:262144}") int segmentRecords) throws IOException {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.segmentRecords = segmentRecords;
+        Files.createDirectories(this.directory);
+        // Loaded segment names are remembered in interaction_segments, so ids must never repeat, even after every
+        // file has been compacted away: start from the clock, which is far ahead of one id per rolled segment
+        this.nextSegmentId = Math.max(recover() + 1, System.currentTimeMillis());
+    }
+
+    public void append(InteractionEvent event) {
+        lock.lock();
+        try {
+            if (active == null) {
+                active = openSegment();
+            }
+            if (!active.append(event)) {
+                closeActive();
+                active = openSegment();
+                active.append(event);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the interaction journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the active segment if it has records and was opened more than maxAgeMillis ago, so that events
+     * reach the database even when traffic is too low to fill a segment.
+     */
+    public void rollIfOlderThan(long maxAgeMillis) {
+        lock.lock();
+        try {
+            if (active != null && !active.isEmpty() && System.currentTimeMillis() - active.getOpenedAt() >= maxAgeMillis) {
+                closeActive();
+            }
+        } catch (IOException e) {
+            log.warn("Could not roll the interaction journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closed segments ready to be loaded, oldest first.
+     */
+    public List<Path> closedSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(CLOSED_SUFFIX)).sorted().toList();
+        }
+    }
+
+    // Mapped stores survive a process crash; this bounds what an OS crash or power loss can take with it
+    @Scheduled(fixedDelayString = "${weebnet.journal.force-interval-ms:1000}")
+    public void force() {
+        lock.lock();
+        try {
+            if (active != null) {
+                active.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (active != null) {
+                closeActive();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JournalSegment openSegment() throws IOException {
+        return JournalSegment.create(directory.resolve(segmentName(nextSegmentId++, OPEN_SUFFIX)), segmentRecords);
+    }
+
+    private void closeActive() throws IOException {
+        JournalSegment segment = active;
+        active = null;
+        segment.close();
+        Path path = segment.getPath();
+        if (segment.isEmpty()) {
+            Files.delete(path);
+            return;
+        }
+        JournalSegment.recover(path); // drops the unused preallocated tail
+        Files.move(path, closedPath(path), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Closes segments left open by a previous run and returns the highest segment id found.
+     */
+    private long recover() throws IOException {
+        long maxId = 0;
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(path -> path.getFileName().toString().startsWith(PREFIX)).forEach(files::add);
+        }
+        for (Path path : files) {
+            String name = path.getFileName().toString();
+            long id = Long.parseLong(name.substring(PREFIX.length(), name.indexOf('.')));
+            maxId = Math.max(maxId, id);
+            if (!name.endsWith(OPEN_SUFFIX)) {
+                continue;
+            }
+            try {
+                int records = JournalSegment.recover(path);
+                Files.move(path, closedPath(path), StandardCopyOption.ATOMIC_MOVE);
+                log.info("Recovered {} interaction events from {}", records, name);
+            } catch (IOException e) {
+                // Crashed before the header was written: nothing in it can be trusted
+                log.warn("Discarding unreadable journal segment {}", name, e);
+                Files.move(path, path.resolveSibling(name + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return maxId;
+    }
+
+    private static Path closedPath(Path openPath) {
+        String name = openPath.getFileName().toString();
+        return openPath.resolveSibling(name.substring(0, name.length() - OPEN_SUFFIX.length()) + CLOSED_SUFFIX);
+    }
+
+    static String segmentName(long id, String suffix) {
+        return String.format("%s%019d%s", PREFIX, id, suffix);
+    }
+}
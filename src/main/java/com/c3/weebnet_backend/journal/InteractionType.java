@@ -0,0 +1,51 @@
+package com.c3.weebnet_backend.journal;
+
+import com.c3.weebnet_backend.entities.TypeInteraction;
+
+import java.util.Locale;
+
+/**
+ * Interaction kinds recorded in the journal. The code is what is written to disk, so existing codes must never
+ * be renumbered; the name matches type_interactions.type.
+ */
+public enum InteractionType {
+
+    VIEW(1, TypeInteraction.VIEW),
+    LIKE(2, TypeInteraction.LIKE),
+    COMMENT(3, TypeInteraction.COMMENT),
+    SHARE(4, TypeInteraction.SHARE);
+
+    private final byte code;
+    private final String typeName;
+
+    InteractionType(int code, String typeName) {
+        this.code = (byte) code;
+        this.typeName = typeName;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public static InteractionType fromCode(byte code) {
+        for (InteractionType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown interaction code " + code);
+    }
+
+    public static InteractionType fromName(String name) {
+        for (InteractionType type : values()) {
+            if (type.typeName.equals(name.toLowerCase(Locale.ROOT))) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown interaction type " + name);
+    }
+}
@@ -0,0 +1,129 @@
+package com.c3.weebnet_backend.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single journal file, memory-mapped for its whole (preallocated) size.
+ *
+ * Layout: a 16-byte header (magic, format version, reserved) followed by {@link InteractionEvent#SIZE}-byte records.
+ * Appends are plain stores into the mapping, so they cost no system call; the page cache writes them back and
+ * {@link #force()} bounds how much an OS crash can lose. Not thread-safe: {@link InteractionJournal} serializes
+ * access.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    static final int MAGIC = 0x574E4A31; // "WNJ1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long openedAt;
+    private int position;
+
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer, int position) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.position = position;
+        this.openedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates and preallocates a new segment able to hold maxRecords records.
+     */
+    static JournalSegment create(Path path, int maxRecords) throws IOException {
+        int size = HEADER_SIZE + maxRecords * InteractionEvent.SIZE;
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putLong(8, 0L);
+        return new JournalSegment(path, channel, buffer, HEADER_SIZE);
+    }
+
+    /**
+     * Returns false, without writing anything, when the segment is full.
+     */
+    boolean append(InteractionEvent event) {
+        if (position + InteractionEvent.SIZE > buffer.capacity()) {
+            return false;
+        }
+        event.writeTo(buffer, position);
+        position += InteractionEvent.SIZE;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return position == HEADER_SIZE;
+    }
+
+    long getOpenedAt() {
+        return openedAt;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Reads every valid record of a segment file, stopping at the first torn or unwritten one.
+     */
+    static List<InteractionEvent> readAll(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            checkHeader(path, buffer);
+            List<InteractionEvent> events = new ArrayList<>();
+            for (int offset = HEADER_SIZE; ; offset += InteractionEvent.SIZE) {
+                InteractionEvent event = InteractionEvent.readFrom(buffer, offset);
+                if (event == null) {
+                    return events;
+                }
+                events.add(event);
+            }
+        }
+    }
+
+    /**
+     * Cuts a segment left open by a crash after its last valid record, dropping a torn record and the
+     * preallocated tail. Returns the number of records kept.
+     */
+    static int recover(Path path) throws IOException {
+        int records = readAll(path).size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(HEADER_SIZE + (long) records * InteractionEvent.SIZE);
+            channel.force(true);
+        }
+        return records;
+    }
+
+    private static void checkHeader(Path path, MappedByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a journal segment: " + path);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported journal format " + buffer.getInt(4) + ": " + path);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.c3.weebnet_backend.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * /actuator/jfr: the continuous recording on demand.
+ *
+ * GET /actuator/jfr?minutes=5 streams the last minutes as a .jfr file (open it in JDK Mission Control);
+ * GET /actuator/jfr/summary?minutes=5&top=20 returns the hot methods, allocation sites and application events.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+    private static final int DEFAULT_TOP = 20;
+
+    private final ContinuousRecording recording;
+
+    public JfrEndpoint(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Nullable Integer minutes) throws IOException {
+        InputStream stream = recording.stream(window(minutes));
+        if (stream == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        return new WebEndpointResponse<>(new InputStreamResource(stream), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Map<String, Object>> report(@Selector String report, @Nullable Integer minutes,
+                                                           @Nullable Integer top) throws IOException {
+        if (!"summary".equals(report)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("weebnet-", ".jfr");
+        try {
+            try (InputStream stream = recording.stream(window(minutes))) {
+                if (stream == null) {
+                    return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+                }
+                Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Map<String, Object> summary = JfrSummarizer.summarize(file, top != null && top > 0 ? top : DEFAULT_TOP);
+            return new WebEndpointResponse<>(summary, WebEndpointResponse.STATUS_OK);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Duration window(Integer minutes) {
+        return Duration.ofMinutes(minutes != null && minutes > 0 ? minutes : DEFAULT_MINUTES);
+    }
+}
@@ -0,0 +1,119 @@
+package com.c3.weebnet_backend.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reduces a JFR file to what is usually looked at first: the methods most often on top of the stack
+ * (CPU samples), the allocation sites by sampled bytes, and totals for the application's own events.
+ */
+public final class JfrSummarizer {
+
+    private JfrSummarizer() {
+    }
+
+    public static Map<String, Object> summarize(Path file, int top) throws IOException {
+        Map<String, Long> hotMethods = new HashMap<>();
+        Map<String, Long> allocationSites = new HashMap<>();
+        Map<String, EventTotals> applicationEvents = new HashMap<>();
+        long executionSamples = 0;
+        long allocatedBytes = 0;
+
+        // An empty file means nothing was recorded in the window
+        try (RecordingFile recording = Files.size(file) == 0 ? null : new RecordingFile(file)) {
+            while (recording != null && recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                switch (type) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        hotMethods.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        allocatedBytes += weight;
+                        allocationSites.merge(topFrame(event.getStackTrace()) + " (" + event.getClass("objectClass").getName() + ")",
+                                weight, Long::sum);
+                    }
+                    default -> {
+                        if (type.startsWith("weebnet.")) {
+                            applicationEvents.computeIfAbsent(type, key -> new EventTotals()).add(event.getDuration().toNanos());
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("executionSamples", executionSamples);
+        summary.put("hotMethods", ranked(hotMethods, executionSamples, top, "samples"));
+        summary.put("sampledAllocationBytes", allocatedBytes);
+        summary.put("allocationSites", ranked(allocationSites, allocatedBytes, top, "bytes"));
+        Map<String, Object> events = new LinkedHashMap<>();
+        applicationEvents.forEach((type, totals) -> events.put(type, totals.toMap()));
+        summary.put("applicationEvents", events);
+        return summary;
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame()) {
+                RecordedMethod method = frame.getMethod();
+                return method.getType().getName() + "." + method.getName();
+            }
+        }
+        return "native";
+    }
+
+    private static List<Map<String, Object>> ranked(Map<String, Long> counts, long total, int top, String unit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        List<Map<String, Object>> ranked = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(top, entries.size()))) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("frame", entry.getKey());
+            row.put(unit, entry.getValue());
+            row.put("percent", total == 0 ? 0 : Math.round(entry.getValue() * 1000.0 / total) / 10.0);
+            ranked.add(row);
+        }
+        return ranked;
+    }
+
+    private static final class EventTotals {
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("totalMillis", totalNanos / 1_000_000.0);
+            map.put("avgMillis", count == 0 ? 0 : totalNanos / 1_000_000.0 / count);
+            map.put("maxMillis", maxNanos / 1_000_000.0);
+            return map;
+        }
+    }
+}
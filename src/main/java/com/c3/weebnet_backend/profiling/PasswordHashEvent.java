@@ -0,0 +1,16 @@
+package com.c3.weebnet_backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("weebnet.PasswordHash")
+@Label("Password Hash")
+@Category({ "WeebNet", "Security" })
+@Description("BCrypt encode or match")
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+}
@@ -0,0 +1,31 @@
+package com.c3.weebnet_backend.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Locale;
+
+/**
+ * Jackson converter for a binary format (CBOR, Smile), chosen by the ObjectMapper's factory, that records a
+ * {@link SerializationEvent} for every response body it writes.
+ */
+public class ProfiledBinaryHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private final String format;
+
+    public ProfiledBinaryHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType) {
+        super(objectMapper, mediaType);
+        this.format = objectMapper.getFactory().getFormatName().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ProfiledWrites.write(object, format, outputMessage, body -> super.writeInternal(object, type, body));
+    }
+}
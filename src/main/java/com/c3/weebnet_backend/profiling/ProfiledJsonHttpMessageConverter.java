@@ -0,0 +1,25 @@
+package com.c3.weebnet_backend.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records a {@link SerializationEvent} for every response body it writes.
+ */
+public class ProfiledJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public ProfiledJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ProfiledWrites.write(object, "json", outputMessage, body -> super.writeInternal(object, type, body));
+    }
+}
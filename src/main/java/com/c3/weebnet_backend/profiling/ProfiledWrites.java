@@ -0,0 +1,74 @@
+package com.c3.weebnet_backend.profiling;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Wraps a converter's body write in a {@link SerializationEvent}, counting the bytes written.
+ */
+final class ProfiledWrites {
+
+    interface BodyWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private ProfiledWrites() {
+    }
+
+    static void write(Object object, String format, HttpOutputMessage outputMessage, BodyWriter writer)
+            throws IOException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            writer.write(outputMessage);
+            return;
+        }
+        CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+        event.begin();
+        try {
+            writer.write(new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = object.getClass().getSimpleName();
+                event.format = format;
+                event.bytes = body.count;
+                event.commit();
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
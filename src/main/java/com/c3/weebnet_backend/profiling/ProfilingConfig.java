@@ -0,0 +1,64 @@
+package com.c3.weebnet_backend.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Emits the WeebNet JFR events (weebnet.*) for repository calls and JSON responses. Token verification and
+ * password hashing emit theirs where they happen (JwtAuthenticationFilter, TimedPasswordEncoder).
+ */
+@Configuration
+public class ProfilingConfig {
+
+    // Adds an interceptor to every Spring Data repository proxy as it is created
+    @Bean
+    public static BeanPostProcessor repositoryCallEvents() {
+        MethodInterceptor interceptor = invocation -> {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            try {
+                return invocation.proceed();
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = invocation.getMethod().getDeclaringClass().getSimpleName();
+                    event.method = invocation.getMethod().getName();
+                    event.commit();
+                }
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> proxyFactory.addAdvice(interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer serializationEvents(ObjectMapper objectMapper) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                for (int i = 0; i < converters.size(); i++) {
+                    if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                        converters.set(i, new ProfiledJsonHttpMessageConverter(objectMapper));
+                    }
+                }
+            }
+        };
+    }
+}
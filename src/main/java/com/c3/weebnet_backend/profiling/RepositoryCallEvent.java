@@ -0,0 +1,19 @@
+package com.c3.weebnet_backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("weebnet.RepositoryCall")
+@Label("Repository Call")
+@Category({ "WeebNet", "Persistence" })
+@Description("Invocation of a Spring Data repository method, including the SQL it runs")
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+}
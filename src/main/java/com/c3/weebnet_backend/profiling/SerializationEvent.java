@@ -0,0 +1,24 @@
+package com.c3.weebnet_backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("weebnet.Serialization")
+@Label("Response Serialization")
+@Category({ "WeebNet", "Web" })
+@Description("Serialization of a response body (JSON, CBOR or Smile)")
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
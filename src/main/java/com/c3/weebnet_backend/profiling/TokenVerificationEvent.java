@@ -0,0 +1,16 @@
+package com.c3.weebnet_backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("weebnet.TokenVerification")
+@Label("JWT Verification")
+@Category({ "WeebNet", "Security" })
+@Description("Parsing and signature check of a bearer token")
+public class TokenVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    public String outcome;
+}
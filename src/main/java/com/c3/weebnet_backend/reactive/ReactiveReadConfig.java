@@ -0,0 +1,22 @@
+package com.c3.weebnet_backend.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC client for the streaming read API. The pooled ConnectionFactory comes from spring.r2dbc.*;
+ * it is separate from the JDBC pool used by the MVC controllers, which is declared in JdbcDataSourceConfig because
+ * DataSourceAutoConfiguration backs off once a ConnectionFactory exists.
+ */
+@Configuration
+public class ReactiveReadConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,83 @@
+package com.c3.weebnet_backend.reactive;
+
+import com.c3.weebnet_backend.dto.NotificationDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * Streaming read API for feed and notification polling.
+ *
+ * Handlers return Reactor types backed by R2DBC, so no servlet thread and no JDBC connection is held while
+ * PostgreSQL works. Lists are streamed as NDJSON, one object per line; Spring MVC requests the next element
+ * only once the previous one has been written, which propagates the client's pace back to the database cursor.
+ * Requests go through the same security filter chain (and JwtUtil verification) as the rest of the API.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "Streaming reads", description = "Non-blocking NDJSON endpoints for feeds and notifications")
+public class ReactiveReadController {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 500;
+
+    private final ReactiveReadRepository reactiveReadRepository;
+
+    public ReactiveReadController(ReactiveReadRepository reactiveReadRepository) {
+        this.reactiveReadRepository = reactiveReadRepository;
+    }
+
+    @Operation(summary = "Stream my feed", description = "Publications of the authenticated user and the users they follow, newest first, as NDJSON.",
+            responses = @ApiResponse(responseCode = "200", description = "Feed stream",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)))
+    @GetMapping(value = "/feed", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PublicationDTO> streamFeed(@RequestParam(required = false) Integer before,
+                                           @RequestParam(required = false) Integer limit,
+                                           Principal principal) {
+        return currentUserId(principal)
+                .flatMapMany(userId -> reactiveReadRepository.findFeed(userId, before, clamp(limit)));
+    }
+
+    @Operation(summary = "Stream my notifications", description = "Notifications of the authenticated user, newest first, as NDJSON.",
+            responses = @ApiResponse(responseCode = "200", description = "Notification stream",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)))
+    @GetMapping(value = "/notifications", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<NotificationDTO> streamNotifications(@RequestParam(required = false) Integer before,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     Principal principal) {
+        return currentUserId(principal)
+                .flatMapMany(userId -> reactiveReadRepository.findNotifications(userId, before, clamp(limit)));
+    }
+
+    @Operation(summary = "Look up a user", description = "Public card of a user, resolved without blocking.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "User found", content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
+            })
+    @GetMapping("/users/{username}")
+    public Mono<UserSummaryDTO> getUser(@PathVariable String username) {
+        return reactiveReadRepository.findUserSummary(username)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")));
+    }
+
+    private Mono<Integer> currentUserId(Principal principal) {
+        return reactiveReadRepository.findUserIdByPrincipal(principal.getName())
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found")));
+    }
+
+    private static int clamp(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
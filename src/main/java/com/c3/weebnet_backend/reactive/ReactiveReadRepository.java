@@ -0,0 +1,120 @@
+package com.c3.weebnet_backend.reactive;
+
+import com.c3.weebnet_backend.dto.NotificationDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Non-blocking queries for the streaming read API.
+ * Authors and givers are joined in the same statement, and rows are fetched from PostgreSQL in chunks of
+ * FETCH_SIZE as the subscriber requests them, so a slow client slows the cursor down instead of buffering.
+ */
+@Repository
+public class ReactiveReadRepository {
+
+    static final int FETCH_SIZE = 50;
+
+    private static final String USER_ID_BY_PRINCIPAL =
+            "SELECT u.id FROM users u WHERE u.username = :principal OR u.email = :principal LIMIT 1";
+
+    private static final String USER_SUMMARY =
+            "SELECT u.id, u.username, u.fullname, u.photo FROM users u WHERE u.username = :username";
+
+    private static final String FEED = """
+            SELECT p.id, p.text, p.photo, p.id_user, p.created_at, p.version,
+                   u.username, u.fullname, u.photo AS author_photo,
+                   COALESCE((SELECT array_agg(t.tag ORDER BY t.id) FROM publication_tags t WHERE t.id_publication = p.id),
+                            CAST(ARRAY[] AS varchar[])) AS tags
+            FROM publications p
+            JOIN users u ON u.id = p.id_user
+            WHERE (p.id_user = :userId
+                   OR p.id_user IN (SELECT f.id_following FROM follows f WHERE f.id_follower = :userId))
+              AND (CAST(:beforeId AS int) IS NULL OR p.id < :beforeId)
+            ORDER BY p.id DESC
+            LIMIT :limit
+            """;
+
+    private static final String NOTIFICATIONS = """
+            SELECT n.id, t.type, n.content, n.created_at,
+                   g.id AS giver_id, g.username, g.fullname, g.photo
+            FROM notifications n
+            JOIN type_interactions t ON t.id = n.type
+            JOIN users g ON g.id = n.id_giver
+            WHERE n.id_receiver = :userId
+              AND n.created_at >= LOCALTIMESTAMP - make_interval(days => :recentDays)
+              AND (CAST(:beforeId AS int) IS NULL OR n.id < :beforeId)
+            ORDER BY n.id DESC
+            LIMIT :limit
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final int recentNotificationDays;
+
+    public ReactiveReadRepository(DatabaseClient databaseClient,
+                                  @Value("${weebnet.notifications.recent-days:60}") int recentNotificationDays) {
+        this.databaseClient = databaseClient;
+        this.recentNotificationDays = recentNotificationDays;
+    }
+
+    public Mono<Integer> findUserIdByPrincipal(String principalName) {
+        return databaseClient.sql(USER_ID_BY_PRINCIPAL)
+                .bind("principal", principalName)
+                .map((row, metadata) -> row.get("id", Integer.class))
+                .first();
+    }
+
+    public Mono<UserSummaryDTO> findUserSummary(String username) {
+        return databaseClient.sql(USER_SUMMARY)
+                .bind("username", username)
+                .map((row, metadata) -> new UserSummaryDTO(row.get("id", Integer.class), row.get("username", String.class),
+                        row.get("fullname", String.class), row.get("photo", String.class)))
+                .first();
+    }
+
+    public Flux<PublicationDTO> findFeed(int userId, Integer beforeId, int limit) {
+        GenericExecuteSpec spec = bindPage(databaseClient.sql(FEED).bind("userId", userId), beforeId, limit);
+        return spec.map((row, metadata) -> toPublication(row)).all();
+    }
+
+    public Flux<NotificationDTO> findNotifications(int userId, Integer beforeId, int limit) {
+        // Bounded to recent notifications like the JSON listing, so only the latest partitions are scanned
+        GenericExecuteSpec spec = bindPage(databaseClient.sql(NOTIFICATIONS).bind("userId", userId)
+                .bind("recentDays", recentNotificationDays), beforeId, limit);
+        return spec.map((row, metadata) -> new NotificationDTO(row.get("id", Integer.class), row.get("type", String.class),
+                        row.get("content", String.class),
+                        new UserSummaryDTO(row.get("giver_id", Integer.class), row.get("username", String.class),
+                                row.get("fullname", String.class), row.get("photo", String.class)),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    private static GenericExecuteSpec bindPage(GenericExecuteSpec spec, Integer beforeId, int limit) {
+        GenericExecuteSpec bound = beforeId == null ? spec.bindNull("beforeId", Integer.class) : spec.bind("beforeId", beforeId);
+        return bound.bind("limit", limit).filter(statement -> statement.fetchSize(FETCH_SIZE));
+    }
+
+    private static PublicationDTO toPublication(Row row) {
+        String[] tags = row.get("tags", String[].class);
+        List<String> tagList = tags == null ? List.of() : Arrays.asList(tags);
+        PublicationDTO dto = new PublicationDTO(row.get("id", Integer.class), row.get("text", String.class),
+                row.get("photo", String.class), row.get("id_user", Integer.class),
+                row.get("created_at", LocalDateTime.class), tagList);
+        dto.setAuthor(new UserSummaryDTO(row.get("id_user", Integer.class), row.get("username", String.class),
+                row.get("fullname", String.class), row.get("author_photo", String.class)));
+        Long version = row.get("version", Long.class);
+        dto.setVersion(version == null ? 0 : version);
+        return dto;
+    }
+}
@@ -0,0 +1,109 @@
+package com.c3.weebnet_backend.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads and prunes change_log, which triggers fill on every write that a syncing client cares about.
+ * Positions in the log are transaction ids (see schema.sql), not row ids.
+ */
+@Repository
+public class ChangeLogRepository {
+
+    // Changes of the user, then profile and publication changes of the accounts they follow: each branch is a
+    // range scan of idx_change_log_subject per subject, which is empty for most subjects on a typical resume
+    private static final String CHANGES = """
+            SELECT c.kind, c.subject, c.entity, c.delta
+            FROM change_log c
+            WHERE c.subject = ? AND c.txid >= ? AND c.txid < ?
+            UNION ALL
+            SELECT c.kind, c.subject, c.entity, c.delta
+            FROM follows f
+            JOIN change_log c ON c.subject = f.id_following AND c.txid >= ? AND c.txid < ?
+            WHERE f.id_follower = ? AND c.kind IN ('p', 'u')
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {horizon, prunedThrough}: every transaction below the horizon has finished, so the log is complete up to it;
+     * entries up to prunedThrough may have been deleted.
+     */
+    public long[] positions() {
+        return jdbcTemplate.queryForObject(
+                "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint), " +
+                        "(SELECT pruned_through FROM change_log_horizon)",
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) });
+    }
+
+    /** Changes visible to the user written by transactions in [from, to), at most limit of them. */
+    public List<Change> findChanges(int userId, long from, long to, int limit) {
+        return jdbcTemplate.query(CHANGES, (rs, rowNum) -> new Change(rs.getString("kind").charAt(0),
+                        rs.getInt("subject"), rs.getInt("entity"), rs.getInt("delta")),
+                userId, from, to, from, to, userId, limit);
+    }
+
+    /**
+     * Deletes up to limit entries older than the cutoff and records how far the log has been pruned.
+     * Returns how many entries were deleted.
+     */
+    public int pruneBatch(LocalDateTime cutoff, int limit) {
+        Integer deleted = jdbcTemplate.queryForObject("""
+                WITH deleted AS (
+                    DELETE FROM change_log
+                    WHERE id IN (SELECT id FROM change_log WHERE created_at < ? ORDER BY id LIMIT ?)
+                    RETURNING txid),
+                horizon AS (
+                    UPDATE change_log_horizon
+                    SET pruned_through = GREATEST(pruned_through, (SELECT max(txid) FROM deleted))
+                    WHERE EXISTS (SELECT 1 FROM deleted))
+                SELECT count(*) FROM deleted
+                """, Integer.class, cutoff, limit);
+        return deleted == null ? 0 : deleted;
+    }
+
+    public static class Change {
+        public static final char NOTIFICATION = 'n';
+        public static final char PUBLICATION = 'p';
+        public static final char PROFILE = 'u';
+        public static final char FOLLOWERS = 'f';
+        public static final char FOLLOWING = 'g';
+        public static final char LIKES = 'l';
+
+        private final char kind;
+        private final int subject;
+        private final int entity;
+        private final int delta;
+
+        Change(char kind, int subject, int entity, int delta) {
+            this.kind = kind;
+            this.subject = subject;
+            this.entity = entity;
+            this.delta = delta;
+        }
+
+        public char getKind() {
+            return kind;
+        }
+
+        public int getSubject() {
+            return subject;
+        }
+
+        public int getEntity() {
+            return entity;
+        }
+
+        public int getDelta() {
+            return delta;
+        }
+    }
+}
@@ -1,5 +1,21 @@
 package com.c3.weebnet_backend.repositories;
 
-public class CommentRepository {
+import com.c3.weebnet_backend.entities.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CommentRepository extends JpaRepository<Comment, Integer> {
+
+    List<Comment> findByPublicationIdOrderByIdDesc(int publicationId, Pageable pageable);
+
+    List<Comment> findByPublicationIdAndIdLessThanOrderByIdDesc(int publicationId, int afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.publication.id = :publicationId AND c.createdAt >= :from AND c.createdAt < :to")
+    long countInRange(@Param("publicationId") int publicationId, @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
 }
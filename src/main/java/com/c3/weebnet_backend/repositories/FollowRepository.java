@@ -1,5 +1,56 @@
 package com.c3.weebnet_backend.repositories;
 
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Read queries over the follows table. Follows have no entity yet, so they are read with plain SQL; every query
+ * is served by unique_follow (id_follower, id_following) or idx_follows_following (id_following, id_follower).
+ */
+@Repository
 public class FollowRepository {
 
+    private final JdbcTemplate jdbcTemplate;
+
+    public FollowRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Followers and followed accounts of a user, as {followers, following}, in one round trip.
+     */
+    public long[] countFollowersAndFollowing(int userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT (SELECT count(*) FROM follows WHERE id_following = ?), " +
+                        "(SELECT count(*) FROM follows WHERE id_follower = ?)",
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) }, userId, userId);
+    }
+
+    public boolean isFollowing(int followerId, int followingId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM follows WHERE id_follower = ? AND id_following = ?)",
+                Boolean.class, followerId, followingId));
+    }
+
+    /**
+     * Accounts the viewer follows that also follow the given user ("followed by people you know").
+     */
+    public List<UserSummaryDTO> findMutualFollowers(int viewerId, int userId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT u.id, u.username, u.fullname, u.photo
+                FROM follows mine
+                JOIN follows theirs ON theirs.id_follower = mine.id_following AND theirs.id_following = ?
+                JOIN users u ON u.id = mine.id_following
+                WHERE mine.id_follower = ?
+                ORDER BY u.id
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new UserSummaryDTO(rs.getInt("id"), rs.getString("username"),
+                        rs.getString("fullname"), rs.getString("photo")),
+                userId, viewerId, limit);
+    }
 }
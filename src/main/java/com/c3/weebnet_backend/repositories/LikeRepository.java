@@ -1,5 +1,21 @@
 package com.c3.weebnet_backend.repositories;
 
-public class LikeRepository {
+import com.c3.weebnet_backend.entities.Like;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LikeRepository extends JpaRepository<Like, Integer> {
+
+    List<Like> findByPublicationIdOrderByIdDesc(int publicationId, Pageable pageable);
+
+    List<Like> findByPublicationIdAndIdLessThanOrderByIdDesc(int publicationId, int afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(l) FROM PublicationLike l WHERE l.publication.id = :publicationId AND l.createdAt >= :from AND l.createdAt < :to")
+    long countInRange(@Param("publicationId") int publicationId, @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,14 @@
+package com.c3.weebnet_backend.repositories;
+
+import com.c3.weebnet_backend.entities.MediaVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MediaVariantRepository extends JpaRepository<MediaVariant, Integer> {
+
+    boolean existsByHash(String hash);
+
+    List<MediaVariant> findByHashInOrderByWidth(Collection<String> hashes);
+}
@@ -1,5 +1,32 @@
 package com.c3.weebnet_backend.repositories;
 
-public class NotificationRepository {
+import com.c3.weebnet_backend.entities.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+
+    // The type is fetched in the same query; givers are resolved in batch by UserBatchLoader.
+    // The lower bound on createdAt lets PostgreSQL skip every monthly partition older than it.
+    @Query("SELECT n FROM Notification n JOIN FETCH n.type WHERE n.receiver.id = :receiverId " +
+            "AND n.createdAt >= :since ORDER BY n.id DESC")
+    List<Notification> findLatestByReceiver(@Param("receiverId") int receiverId, @Param("since") LocalDateTime since,
+                                            Pageable pageable);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.type WHERE n.receiver.id = :receiverId " +
+            "AND n.createdAt >= :since AND n.id < :afterId ORDER BY n.id DESC")
+    List<Notification> findLatestByReceiverBefore(@Param("receiverId") int receiverId,
+                                                  @Param("since") LocalDateTime since, @Param("afterId") int afterId,
+                                                  Pageable pageable);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.type WHERE n.receiver.id = :receiverId " +
+            "AND n.createdAt >= :since AND n.id IN :ids ORDER BY n.id DESC")
+    List<Notification> findByReceiverAndIds(@Param("receiverId") int receiverId, @Param("since") LocalDateTime since,
+                                            @Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,260 @@
+package com.c3.weebnet_backend.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves old publications to publications_archive and reads them back. Archived rows are read-only: likes and
+ * comments are unnested from the arrays they were folded into, with the same id order and cursors as the hot tables.
+ */
+@Repository
+public class PublicationArchiveRepository {
+
+    // Ids are in creation order, so walking the primary key finds the oldest publications first without an index
+    // on created_at. Rows locked by a concurrent like or comment are skipped and picked up on a later run.
+    private static final String LOCK_BATCH =
+            "SELECT id FROM publications WHERE created_at < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    // The batch is already locked: children can no longer be added, so this snapshot sees all of them.
+    // Deleting the publication cascades to its tags, likes and comments.
+    private static final String MOVE_BATCH = """
+            WITH archived AS (
+                INSERT INTO publications_archive (id, text, photo, id_user, created_at, version, updated_at, tags,
+                                                  like_ids, like_users, like_created_at, comments)
+                SELECT p.id, p.text, p.photo, p.id_user, p.created_at, p.version, p.updated_at,
+                       COALESCE((SELECT array_agg(t.tag ORDER BY t.id) FROM publication_tags t
+                                 WHERE t.id_publication = p.id), CAST(ARRAY[] AS varchar[])),
+                       COALESCE(l.ids, CAST(ARRAY[] AS int[])),
+                       COALESCE(l.users, CAST(ARRAY[] AS int[])),
+                       COALESCE(l.created, CAST(ARRAY[] AS timestamp[])),
+                       COALESCE((SELECT jsonb_agg(jsonb_build_object('id', c.id, 'id_user', c.id_user, 'text', c.text,
+                                                                     'created_at', c.created_at) ORDER BY c.id)
+                                 FROM comments c WHERE c.id_publication = p.id), CAST('[]' AS jsonb))
+                FROM publications p
+                LEFT JOIN LATERAL (
+                    SELECT array_agg(id ORDER BY id) AS ids, array_agg(id_user ORDER BY id) AS users,
+                           array_agg(created_at ORDER BY id) AS created
+                    FROM likes WHERE id_publication = p.id) l ON true
+                WHERE p.id = ANY (?)
+                RETURNING id)
+            DELETE FROM publications p USING archived a WHERE p.id = a.id
+            """;
+
+    private static final String LIKES = """
+            SELECT l.id, l.id_user, l.created_at
+            FROM publications_archive a, unnest(a.like_ids, a.like_users, a.like_created_at) AS l(id, id_user, created_at)
+            WHERE a.id = ? AND (CAST(? AS int) IS NULL OR l.id < ?)
+            ORDER BY l.id DESC
+            LIMIT ?
+            """;
+
+    private static final String COMMENTS = """
+            SELECT c.id, c.id_user, c.text, c.created_at
+            FROM publications_archive a,
+                 jsonb_to_recordset(a.comments) AS c(id int, id_user int, text varchar, created_at timestamp)
+            WHERE a.id = ? AND (CAST(? AS int) IS NULL OR c.id < ?)
+            ORDER BY c.id DESC
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PublicationArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Archives up to limit publications created before the cutoff, in one short transaction.
+     * Returns how many were moved.
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int limit) {
+        List<Integer> ids = jdbcTemplate.queryForList(LOCK_BATCH, Integer.class, cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(MOVE_BATCH, ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", ids.toArray())));
+    }
+
+    public boolean exists(int publicationId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM publications_archive WHERE id = ?)", Boolean.class, publicationId));
+    }
+
+    public Optional<PublicationVersionView> findVersion(int publicationId) {
+        return jdbcTemplate.query("SELECT a.id, a.version, u.version AS author_version, " +
+                        "GREATEST(a.updated_at, u.updated_at) AS updated_at " +
+                        "FROM publications_archive a JOIN users u ON u.id = a.id_user WHERE a.id = ?",
+                (rs, rowNum) -> (PublicationVersionView) new ArchivedVersion(rs.getInt("id"), rs.getLong("version"),
+                        rs.getLong("author_version"), rs.getTimestamp("updated_at").toLocalDateTime()),
+                publicationId).stream().findFirst();
+    }
+
+    public Optional<ArchivedPublication> find(int publicationId) {
+        return jdbcTemplate.query("SELECT id, text, photo, id_user, created_at, version, tags " +
+                        "FROM publications_archive WHERE id = ?",
+                (rs, rowNum) -> new ArchivedPublication(rs.getInt("id"), rs.getString("text"), rs.getString("photo"),
+                        rs.getInt("id_user"), toLocalDateTime(rs.getTimestamp("created_at")), rs.getLong("version"),
+                        strings(rs.getArray("tags"))), publicationId).stream().findFirst();
+    }
+
+    /** Likes newest first, below the cursor id if given. */
+    public List<ArchivedInteraction> findLikes(int publicationId, Integer beforeId, int limit) {
+        return jdbcTemplate.query(LIKES, (rs, rowNum) -> interaction(rs, null), publicationId, beforeId, beforeId, limit);
+    }
+
+    /** Comments newest first, below the cursor id if given. */
+    public List<ArchivedInteraction> findComments(int publicationId, Integer beforeId, int limit) {
+        return jdbcTemplate.query(COMMENTS, (rs, rowNum) -> interaction(rs, rs.getString("text")), publicationId,
+                beforeId, beforeId, limit);
+    }
+
+    public long countLikesInRange(int publicationId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM publications_archive a, unnest(a.like_created_at) " +
+                "AS l(created_at) WHERE a.id = ? AND l.created_at >= ? AND l.created_at < ?", Long.class,
+                publicationId, from, to);
+    }
+
+    public long countCommentsInRange(int publicationId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM publications_archive a, " +
+                "jsonb_to_recordset(a.comments) AS c(created_at timestamp) " +
+                "WHERE a.id = ? AND c.created_at >= ? AND c.created_at < ?", Long.class, publicationId, from, to);
+    }
+
+    private static ArchivedInteraction interaction(ResultSet rs, String text) throws SQLException {
+        return new ArchivedInteraction(rs.getInt("id"), rs.getInt("id_user"), text,
+                toLocalDateTime(rs.getTimestamp("created_at")));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static List<String> strings(Array array) throws SQLException {
+        return array == null ? List.of() : Arrays.asList((String[]) array.getArray());
+    }
+
+    public static class ArchivedPublication {
+        private final int id;
+        private final String text;
+        private final String photo;
+        private final int userId;
+        private final LocalDateTime createdAt;
+        private final long version;
+        private final List<String> tags;
+
+        ArchivedPublication(int id, String text, String photo, int userId, LocalDateTime createdAt, long version,
+                            List<String> tags) {
+            this.id = id;
+            this.text = text;
+            this.photo = photo;
+            this.userId = userId;
+            this.createdAt = createdAt;
+            this.version = version;
+            this.tags = tags;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getPhoto() {
+            return photo;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+
+    /** An archived like (text is null) or comment. */
+    public static class ArchivedInteraction {
+        private final int id;
+        private final int userId;
+        private final String text;
+        private final LocalDateTime createdAt;
+
+        ArchivedInteraction(int id, int userId, String text, LocalDateTime createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.text = text;
+            this.createdAt = createdAt;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+
+    private static class ArchivedVersion implements PublicationVersionView {
+        private final int id;
+        private final long version;
+        private final long authorVersion;
+        private final LocalDateTime updatedAt;
+
+        ArchivedVersion(int id, long version, long authorVersion, LocalDateTime updatedAt) {
+            this.id = id;
+            this.version = version;
+            this.authorVersion = authorVersion;
+            this.updatedAt = updatedAt;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public long getAuthorVersion() {
+            return authorVersion;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.c3.weebnet_backend.repositories;
+
+import com.c3.weebnet_backend.entities.Publication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PublicationRepository extends JpaRepository<Publication, Integer> {
+
+    /**
+     * Ranked full-text search over publications.search_vector (GIN indexed, see schema.sql).
+     * Results are ordered by (rank, id) descending and paginated by keyset: pass the rank and id
+     * of the last row of the previous page, or nulls for the first page.
+     */
+    @Query(value = """
+            SELECT ranked.* FROM (
+                SELECT p.id AS id, p.text AS text, p.photo AS photo, p.id_user AS "authorId",
+                       p.created_at AS "createdAt",
+                       CAST(ts_rank(p.search_vector, q.query) AS float8) AS rank
+                FROM publications p
+                CROSS JOIN websearch_to_tsquery('simple', CAST(:query AS text)) AS q(query)
+                WHERE p.search_vector @@ q.query
+                  AND (CAST(:tag AS text) IS NULL OR EXISTS (
+                        SELECT 1 FROM publication_tags t
+                        WHERE t.id_publication = p.id AND lower(t.tag) = CAST(:tag AS text)))
+            ) ranked
+            WHERE CAST(:afterRank AS float8) IS NULL
+               OR ranked.rank < CAST(:afterRank AS float8)
+               OR (ranked.rank = CAST(:afterRank AS float8) AND ranked.id < CAST(:afterId AS int))
+            ORDER BY ranked.rank DESC, ranked.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchRow> search(@Param("query") String query,
+                           @Param("tag") String tag,
+                           @Param("afterRank") Double afterRank,
+                           @Param("afterId") Integer afterId,
+                           @Param("limit") int limit);
+
+    // Newest first through idx_publications_user_id (id_user, id DESC)
+    @Query(value = "SELECT p.id AS id, p.text AS text, p.photo AS photo, p.id_user AS \"authorId\", " +
+            "p.created_at AS \"createdAt\" FROM publications p WHERE p.id_user = :userId ORDER BY p.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<PublicationRow> findLatestByAuthor(@Param("userId") int userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT p.id AS id, p.text AS text, p.photo AS photo, p.id_user AS \"authorId\", " +
+            "p.created_at AS \"createdAt\" FROM publications p WHERE p.id IN (:ids) ORDER BY p.id DESC",
+            nativeQuery = true)
+    List<PublicationRow> findRowsByIds(@Param("ids") Collection<Integer> ids);
+
+    // The body embeds the author's summary, so the author's row is part of the publication's version
+    @Query("SELECT p.id AS id, p.version AS version, u.version AS authorVersion, " +
+            "GREATEST(p.updatedAt, u.updatedAt) AS updatedAt FROM Publication p JOIN p.user u WHERE p.id = :id")
+    Optional<PublicationVersionView> findVersionById(@Param("id") int id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Publication p SET p.version = p.version + 1, p.updatedAt = CURRENT_TIMESTAMP WHERE p.photo = :photo")
+    int touchByPhoto(@Param("photo") String photo);
+
+    // Publications whose cached cards were built before their photo's thumbnails existed
+    @Query("SELECT p.id FROM Publication p WHERE p.photo = :photo")
+    List<Integer> findIdsByPhoto(@Param("photo") String photo);
+
+    @Query(value = "SELECT t.id_publication AS \"publicationId\", t.tag AS tag FROM publication_tags t " +
+            "WHERE t.id_publication IN (:ids) ORDER BY t.id", nativeQuery = true)
+    List<TagRow> findTagsByPublicationIds(@Param("ids") Collection<Integer> ids);
+
+    interface PublicationRow {
+        int getId();
+        String getText();
+        String getPhoto();
+        int getAuthorId();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface SearchRow extends PublicationRow {
+        double getRank();
+    }
+
+    interface TagRow {
+        int getPublicationId();
+        String getTag();
+    }
+}
@@ -0,0 +1,9 @@
+package com.c3.weebnet_backend.repositories;
+
+/**
+ * Version columns of a publication and of its author, whose summary is embedded in the publication's body.
+ * getUpdatedAt() is the later of the two rows' updated_at.
+ */
+public interface PublicationVersionView extends VersionView {
+    long getAuthorVersion();
+}
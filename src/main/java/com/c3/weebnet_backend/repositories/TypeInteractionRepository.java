@@ -0,0 +1,7 @@
+package com.c3.weebnet_backend.repositories;
+
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TypeInteractionRepository extends JpaRepository<TypeInteraction, Integer> {
+}
@@ -0,0 +1,22 @@
+package com.c3.weebnet_backend.repositories;
+
+import com.c3.weebnet_backend.entities.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Lookups served by the second-level cache: a username resolves through the natural-id cache and the user through
+ * the entity cache, so a warm lookup runs no SQL at all. Derived queries such as findByUsername always hit the
+ * database; use these on hot paths.
+ */
+@Transactional(readOnly = true)
+public interface UserLookup {
+
+    Optional<User> findCachedByUsername(String username);
+
+    /**
+     * Tries the value as a username first, then as an email. Only the email-to-id step needs a query.
+     */
+    Optional<User> findCachedByUsernameOrEmail(String usernameOrEmail);
+}
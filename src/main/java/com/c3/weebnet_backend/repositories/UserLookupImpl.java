@@ -0,0 +1,35 @@
+package com.c3.weebnet_backend.repositories;
+
+import com.c3.weebnet_backend.entities.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+// Picked up by Spring Data as the implementation of the UserLookup fragment of UserRepository
+class UserLookupImpl implements UserLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findCachedByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+
+    @Override
+    public Optional<User> findCachedByUsernameOrEmail(String usernameOrEmail) {
+        Optional<User> byUsername = findCachedByUsername(usernameOrEmail);
+        if (byUsername.isPresent()) {
+            return byUsername;
+        }
+        // Hibernate allows one natural id per entity: emails resolve to an id, the row itself still comes from the cache
+        return entityManager.createQuery("SELECT u.id FROM User u WHERE u.email = :email", Integer.class)
+                .setParameter("email", usernameOrEmail)
+                .getResultStream()
+                .findFirst()
+                .map(id -> entityManager.find(User.class, id));
+    }
+}
@@ -1,10 +1,16 @@
 package com.c3.weebnet_backend.repositories;
 
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
 import com.c3.weebnet_backend.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, UserLookup {
     
     Optional<User> findByEmail(String email);
     
@@ -12,4 +18,25 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
    
     Optional<User> findByUsername(String username);
+
+    // Resolves many usernames with a single IN query instead of one findByUsername per name
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.username IN :usernames")
+    List<UserIdView> findIdsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT new com.c3.weebnet_backend.dto.UserSummaryDTO(u.id, u.username, u.fullname, u.photo) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Users whose cached summaries carry this avatar, dropped once its thumbnails exist
+    @Query("SELECT u.id FROM User u WHERE u.photo = :photo")
+    List<Integer> findIdsByPhoto(@Param("photo") String photo);
+
+    // Covered by idx_users_username_version, so a 304 never touches the row itself
+    @Query("SELECT u.id AS id, u.version AS version, u.updatedAt AS updatedAt FROM User u WHERE u.username = :username")
+    Optional<VersionView> findVersionByUsername(@Param("username") String username);
+
+    interface UserIdView {
+        int getId();
+        String getUsername();
+    }
 }
@@ -0,0 +1,12 @@
+package com.c3.weebnet_backend.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version columns of a row, read without loading the entity to answer conditional requests.
+ */
+public interface VersionView {
+    int getId();
+    long getVersion();
+    LocalDateTime getUpdatedAt();
+}
@@ -1,9 +1,12 @@
 package com.c3.weebnet_backend.security;
 
 import com.c3.weebnet_backend.config.JwtUtil;
+import com.c3.weebnet_backend.profiling.TokenVerificationEvent;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,9 +28,11 @@ import java.util.ArrayList;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -53,29 +58,43 @@ protected void doFilterInternal(HttpServletRequest request,
     String token = authHeader.substring(7);
     String username = null;
 
+    // Parse and signature check, timed by outcome (a fixed set of values, so the tag stays low-cardinality)
+    Timer.Sample sample = Timer.start(meterRegistry);
+    TokenVerificationEvent event = new TokenVerificationEvent();
+    event.begin();
     try {
         username = jwtUtil.extractUsername(token);
     } catch (ExpiredJwtException e) {
+        verified(sample, event, "expired");
         logger.error("Token expired", e);
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token expired");
         return;
     } catch (MalformedJwtException e) {
+        verified(sample, event, "malformed");
         logger.error("Invalid token format", e);
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token format");
         return;
     } catch (JwtException e) {
+        verified(sample, event, "invalid");
         logger.error("Invalid token", e);
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
         return;
     } catch (Exception e) {
+        verified(sample, event, "error");
         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
         return;
     }
 
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+    if (username == null) {
+        verified(sample, event, "rejected");
+    } else if (SecurityContextHolder.getContext().getAuthentication() != null) {
+        verified(sample, event, "already_authenticated"); // parsed and signed, but the request was authenticated earlier
+    } else {
         UserDetails userDetails = new User(username, "", new ArrayList<>());
 
-        if (jwtUtil.validateToken(token, username)) {
+        boolean valid = jwtUtil.validateToken(token, username);
+        verified(sample, event, valid ? "valid" : "rejected");
+        if (valid) {
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -87,4 +106,14 @@ protected void doFilterInternal(HttpServletRequest request,
     chain.doFilter(request, response);
 }
 
+    private void verified(Timer.Sample sample, TokenVerificationEvent event, String outcome) {
+        sample.stop(Timer.builder("weebnet.jwt.verify")
+                .description("JWT parsing and signature verification")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+        event.outcome = outcome;
+        event.commit();
+    }
+
 }
@@ -0,0 +1,83 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.analytics.ViewStatsStore;
+import com.c3.weebnet_backend.analytics.ViewStatsStore.ViewTotals;
+import com.c3.weebnet_backend.dto.PublicationAnalyticsDTO;
+import com.c3.weebnet_backend.entities.Publication;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.CommentRepository;
+import com.c3.weebnet_backend.repositories.LikeRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository.ArchivedPublication;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+public class AnalyticsService {
+
+    private final PublicationService publicationService;
+    private final UserService userService;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final ViewStatsStore viewStatsStore;
+    private final PublicationArchiveRepository archiveRepository;
+
+    public AnalyticsService(PublicationService publicationService, UserService userService,
+                            LikeRepository likeRepository, CommentRepository commentRepository,
+                            ViewStatsStore viewStatsStore, PublicationArchiveRepository archiveRepository) {
+        this.publicationService = publicationService;
+        this.userService = userService;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.viewStatsStore = viewStatsStore;
+        this.archiveRepository = archiveRepository;
+    }
+
+    /**
+     * Engagement of one of the caller's publications. Views are kept in hourly buckets, so from is rounded
+     * down and to rounded up to the hour; by default the range covers the whole life of the publication.
+     */
+    @Transactional(readOnly = true)
+    public PublicationAnalyticsDTO getPublicationAnalytics(String principalName, int publicationId,
+                                                           LocalDateTime from, LocalDateTime to) {
+        User caller = userService.getAuthenticatedUser(principalName);
+        boolean archived = publicationService.isArchived(publicationId);
+        int authorId;
+        LocalDateTime createdAt;
+        if (archived) {
+            ArchivedPublication publication = archiveRepository.find(publicationId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Publication not found"));
+            authorId = publication.getUserId();
+            createdAt = publication.getCreatedAt();
+        } else {
+            Publication publication = publicationService.getPublication(publicationId);
+            authorId = publication.getUser().getId();
+            createdAt = publication.getCreatedAt();
+        }
+        if (authorId != caller.getId()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the author can see the analytics of a publication.");
+        }
+
+        LocalDateTime start = (from != null ? from : createdAt).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!end.equals(end.truncatedTo(ChronoUnit.HOURS))) {
+            end = end.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        }
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to.");
+        }
+
+        ViewTotals views = viewStatsStore.totals(publicationId, start, end);
+        return new PublicationAnalyticsDTO(publicationId, start, end, views.getViews(), views.getViewers().estimate(),
+                archived ? archiveRepository.countLikesInRange(publicationId, start, end)
+                        : likeRepository.countInRange(publicationId, start, end),
+                archived ? archiveRepository.countCommentsInRange(publicationId, start, end)
+                        : commentRepository.countInRange(publicationId, start, end));
+    }
+}
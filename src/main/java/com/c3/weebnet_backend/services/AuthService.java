@@ -16,8 +16,11 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
+// Every public method is timed as weebnet.service{class, method}
+@Timed(value = "weebnet.service", histogram = true)
 @Service
 public class AuthService {
 
@@ -65,7 +68,7 @@ public class AuthService {
     }
 
     public UserDetails authenticate(String usernameOrEmail, String password) throws Exception {
-        Optional<User> optionalUser = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
+        Optional<User> optionalUser = userRepository.findCachedByUsernameOrEmail(usernameOrEmail);
        
         if (!optionalUser.isPresent() || !passwordEncoder.matches(password, optionalUser.get().getPassword())) {
             throw new Exception("Invalid credentials");
@@ -0,0 +1,203 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.cache.CacheInvalidator;
+import com.c3.weebnet_backend.dto.BatchOperationDTO;
+import com.c3.weebnet_backend.dto.BatchResultDTO;
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.journal.InteractionType;
+import com.c3.weebnet_backend.services.NotifcationService.NotificationDraft;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs a list of like / unlike / follow / unfollow operations for the authenticated user in one transaction.
+ *
+ * Targets are checked with one IN query per kind, then consecutive operations of the same kind go to the
+ * database as one JDBC batch, so a batch of N likes costs a handful of statements instead of N requests.
+ * Inserts use ON CONFLICT DO NOTHING and deletes report their row count: repeating an operation is not an error,
+ * its result is simply 200 (nothing changed). Invalid or unknown targets fail their own result only.
+ */
+@Service
+public class BatchService {
+
+    private static final Map<String, String> STATEMENTS = Map.of(
+            BatchOperationDTO.LIKE, "INSERT INTO likes (id_publication, id_user) VALUES (?, ?) " +
+                    "ON CONFLICT (id_publication, id_user) DO NOTHING",
+            BatchOperationDTO.UNLIKE, "DELETE FROM likes WHERE id_publication = ? AND id_user = ?",
+            BatchOperationDTO.FOLLOW, "INSERT INTO follows (id_following, id_follower) VALUES (?, ?) " +
+                    "ON CONFLICT (id_follower, id_following) DO NOTHING",
+            BatchOperationDTO.UNFOLLOW, "DELETE FROM follows WHERE id_following = ? AND id_follower = ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserService userService;
+    private final NotifcationService notificationService;
+    private final InteractionService interactionService;
+    private final CacheInvalidator cacheInvalidator;
+
+    public BatchService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, UserService userService,
+                        NotifcationService notificationService, InteractionService interactionService,
+                        CacheInvalidator cacheInvalidator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userService = userService;
+        this.notificationService = notificationService;
+        this.interactionService = interactionService;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    public List<BatchResultDTO> execute(String principalName, List<BatchOperationDTO> operations) {
+        User actor = userService.getAuthenticatedUser(principalName);
+        int actorId = actor.getId();
+        BatchResultDTO[] results = new BatchResultDTO[operations.size()];
+        int[] targets = new int[operations.size()];
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            String error = validate(operation, actorId);
+            if (error != null) {
+                results[i] = new BatchResultDTO(i, operation == null ? null : operation.getOp(), 400, error);
+            } else {
+                targets[i] = isLikeKind(operation.getOp()) ? operation.getPublicationId() : operation.getUserId();
+            }
+        }
+
+        List<Integer> liked = new ArrayList<>();
+        List<Integer> followsChanged = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Integer, Integer> authors = authorsOf(targetsOf(operations, results, targets, true));
+            Set<Integer> users = existingUsers(targetsOf(operations, results, targets, false));
+            for (int i = 0; i < operations.size(); i++) {
+                if (results[i] == null) {
+                    boolean like = isLikeKind(operations.get(i).getOp());
+                    if (like ? !authors.containsKey(targets[i]) : !users.contains(targets[i])) {
+                        results[i] = new BatchResultDTO(i, operations.get(i).getOp(), 404,
+                                like ? "Publication not found" : "User not found");
+                    }
+                }
+            }
+
+            List<NotificationDraft> likeNotifications = new ArrayList<>();
+            List<NotificationDraft> followNotifications = new ArrayList<>();
+            int start = 0;
+            while (start < operations.size()) {
+                if (results[start] != null) {
+                    start++;
+                    continue;
+                }
+                // A run of pending operations of one kind, in request order
+                String kind = operations.get(start).getOp();
+                List<Integer> run = new ArrayList<>();
+                int end = start;
+                while (end < operations.size() && (results[end] != null || operations.get(end).getOp().equals(kind))) {
+                    if (results[end] == null) {
+                        run.add(end);
+                    }
+                    end++;
+                }
+
+                int[] counts = jdbcTemplate.batchUpdate(STATEMENTS.get(kind), run, run.size(), (ps, index) -> {
+                    ps.setInt(1, targets[index]);
+                    ps.setInt(2, actorId);
+                })[0];
+                for (int k = 0; k < run.size(); k++) {
+                    int index = run.get(k);
+                    boolean changed = counts[k] != 0; // SUCCESS_NO_INFO (-2) counts as a change
+                    boolean insert = kind.equals(BatchOperationDTO.LIKE) || kind.equals(BatchOperationDTO.FOLLOW);
+                    results[index] = new BatchResultDTO(index, kind, !changed ? 200 : insert ? 201 : 204, null);
+                    if (changed && kind.equals(BatchOperationDTO.LIKE)) {
+                        liked.add(targets[index]);
+                        int authorId = authors.get(targets[index]);
+                        if (authorId != actorId) {
+                            likeNotifications.add(new NotificationDraft(actorId, authorId,
+                                    actor.getUsername() + " liked your publication"));
+                        }
+                    } else if (changed && kind.equals(BatchOperationDTO.FOLLOW)) {
+                        followsChanged.add(targets[index]);
+                        followNotifications.add(new NotificationDraft(actorId, targets[index],
+                                actor.getUsername() + " started following you"));
+                    } else if (changed && kind.equals(BatchOperationDTO.UNFOLLOW)) {
+                        followsChanged.add(targets[index]);
+                    }
+                }
+                start = end;
+            }
+            notificationService.createAll(TypeInteraction.LIKE, likeNotifications);
+            notificationService.createAll(TypeInteraction.FOLLOW, followNotifications);
+        });
+
+        // Journaled and invalidated only once the changes are committed
+        for (int publicationId : liked) {
+            interactionService.record(InteractionType.LIKE, actorId, publicationId);
+        }
+        for (int followingId : followsChanged) {
+            cacheInvalidator.followChanged(actorId, followingId);
+        }
+        return Arrays.asList(results);
+    }
+
+    private static String validate(BatchOperationDTO operation, int actorId) {
+        if (operation == null || operation.getOp() == null || !STATEMENTS.containsKey(operation.getOp())) {
+            return "Operation must be like, unlike, follow or unfollow";
+        }
+        if (isLikeKind(operation.getOp())) {
+            return operation.getPublicationId() == null ? "publicationId is required" : null;
+        }
+        if (operation.getUserId() == null) {
+            return "userId is required";
+        }
+        return operation.getUserId() == actorId ? "Users cannot follow themselves" : null;
+    }
+
+    private static boolean isLikeKind(String op) {
+        return op.equals(BatchOperationDTO.LIKE) || op.equals(BatchOperationDTO.UNLIKE);
+    }
+
+    private static Set<Integer> targetsOf(List<BatchOperationDTO> operations, BatchResultDTO[] results, int[] targets,
+                                          boolean publications) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] == null && isLikeKind(operations.get(i).getOp()) == publications) {
+                ids.add(targets[i]);
+            }
+        }
+        return ids;
+    }
+
+    private Map<Integer, Integer> authorsOf(Collection<Integer> publicationIds) {
+        Map<Integer, Integer> authors = new HashMap<>();
+        if (!publicationIds.isEmpty()) {
+            jdbcTemplate.query("SELECT id, id_user FROM publications WHERE id IN (" + placeholders(publicationIds) + ")",
+                    rs -> {
+                        authors.put(rs.getInt("id"), rs.getInt("id_user"));
+                    }, publicationIds.toArray());
+        }
+        return authors;
+    }
+
+    private Set<Integer> existingUsers(Collection<Integer> userIds) {
+        Set<Integer> users = new HashSet<>();
+        if (!userIds.isEmpty()) {
+            users.addAll(jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (" + placeholders(userIds) + ")",
+                    Integer.class, userIds.toArray()));
+        }
+        return users;
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.repositories.ChangeLogRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes change_log entries older than weebnet.sync.retention-days, a chunk per transaction. Clients whose cursor
+ * falls in the pruned range are told to reset by {@link SyncService}.
+ */
+@Component
+public class ChangeLogPruner {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPruner.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public ChangeLogPruner(ChangeLogRepository changeLogRepository,
+                           @Value("${weebnet.sync.retention-days:30}") int retentionDays,
+                           @Value("${weebnet.sync.prune-batch-size:5000}") int batchSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${weebnet.sync.prune-initial-delay-ms:60000}",
+            fixedDelayString = "${weebnet.sync.prune-interval-ms:600000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = changeLogRepository.pruneBatch(cutoff, batchSize);
+                total += deleted;
+            } while (deleted == batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Change log pruning stopped after {} entries, resuming on the next run", total, e);
+        }
+        if (total > 0) {
+            log.info("Pruned {} change log entries older than {}", total, cutoff);
+        }
+    }
+}
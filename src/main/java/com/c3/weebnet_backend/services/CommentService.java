@@ -0,0 +1,114 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.cache.UserBatchLoader;
+import com.c3.weebnet_backend.dto.CommentDTO;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.Comment;
+import com.c3.weebnet_backend.entities.Publication;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.journal.InteractionType;
+import com.c3.weebnet_backend.repositories.CommentRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository.ArchivedInteraction;
+import com.c3.weebnet_backend.services.MentionService.MentionSource;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CommentService {
+
+    private final CommentRepository commentRepository;
+    private final PublicationService publicationService;
+    private final UserService userService;
+    private final MentionService mentionService;
+    private final UserBatchLoader userBatchLoader;
+    private final InteractionService interactionService;
+    private final PublicationArchiveRepository archiveRepository;
+
+    public CommentService(CommentRepository commentRepository, PublicationService publicationService,
+                          UserService userService, MentionService mentionService, UserBatchLoader userBatchLoader,
+                          InteractionService interactionService, PublicationArchiveRepository archiveRepository) {
+        this.commentRepository = commentRepository;
+        this.publicationService = publicationService;
+        this.userService = userService;
+        this.mentionService = mentionService;
+        this.userBatchLoader = userBatchLoader;
+        this.interactionService = interactionService;
+        this.archiveRepository = archiveRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> listComments(int publicationId, String cursor, Integer size) {
+        boolean archived = publicationService.isArchived(publicationId);
+        int pageSize = Pagination.pageSize(size);
+        Integer afterId = Pagination.decodeIdCursor(cursor);
+        if (archived) {
+            return listArchivedComments(publicationId, afterId, pageSize);
+        }
+
+        List<Comment> comments = afterId == null
+                ? commentRepository.findByPublicationIdOrderByIdDesc(publicationId, Pagination.probe(pageSize))
+                : commentRepository.findByPublicationIdAndIdLessThanOrderByIdDesc(publicationId, afterId, Pagination.probe(pageSize));
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
+
+        // getUser().getId() reads the foreign key from the proxy without initializing it
+        Map<Integer, UserSummaryDTO> authors = userBatchLoader.loadMany(
+                comments.stream().map(comment -> comment.getUser().getId()).toList());
+
+        List<CommentDTO> items = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            CommentDTO dto = new CommentDTO(comment.getId(), comment.getText(), publicationId,
+                    comment.getUser().getId(), comment.getCreatedAt());
+            dto.setAuthor(authors.get(comment.getUser().getId()));
+            items.add(dto);
+        }
+        String nextCursor = hasMore ? Pagination.encodeIdCursor(comments.get(comments.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    @Transactional
+    public CommentDTO createComment(String principalName, int publicationId, CommentDTO commentDTO) {
+        User author = userService.getAuthenticatedUser(principalName);
+        Publication publication = publicationService.getPublication(publicationId);
+
+        Comment saved = commentRepository.save(new Comment(commentDTO.getText(), publication, author));
+
+        mentionService.notifyMentions(new MentionSource(author.getId(), saved.getText(),
+                author.getUsername() + " mentioned you in a comment"));
+        interactionService.record(InteractionType.COMMENT, author.getId(), publicationId);
+
+        CommentDTO created = new CommentDTO(saved.getId(), saved.getText(), publicationId, author.getId(), saved.getCreatedAt());
+        created.setAuthor(UserService.toSummary(author));
+        return created;
+    }
+
+    private CursorPageDTO<CommentDTO> listArchivedComments(int publicationId, Integer afterId, int pageSize) {
+        List<ArchivedInteraction> comments = archiveRepository.findComments(publicationId, afterId, pageSize + 1);
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
+
+        Map<Integer, UserSummaryDTO> authors = userBatchLoader.loadMany(
+                comments.stream().map(ArchivedInteraction::getUserId).toList());
+
+        List<CommentDTO> items = new ArrayList<>(comments.size());
+        for (ArchivedInteraction comment : comments) {
+            CommentDTO dto = new CommentDTO(comment.getId(), comment.getText(), publicationId, comment.getUserId(),
+                    comment.getCreatedAt());
+            dto.setAuthor(authors.get(comment.getUserId()));
+            items.add(dto);
+        }
+        String nextCursor = hasMore ? Pagination.encodeIdCursor(comments.get(comments.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+}
@@ -2,6 +2,8 @@ package com.c3.weebnet_backend.services;
 
 import java.util.Collections;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,17 +16,19 @@ import com.c3.weebnet_backend.repositories.UserRepository;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        System.out.println("Call to loadUserByUsername with: " + usernameOrEmail);
+        logger.debug("Call to loadUserByUsername with: {}", usernameOrEmail);
         
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+        User user = userRepository.findCachedByUsernameOrEmail(usernameOrEmail)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
         
-        System.out.println("User found: " + user.getUsername());
+        logger.debug("User found: {}", user.getUsername());
 
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
@@ -0,0 +1,29 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.journal.InteractionEvent;
+import com.c3.weebnet_backend.journal.InteractionJournal;
+import com.c3.weebnet_backend.journal.InteractionType;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public class InteractionService {
+
+    private final InteractionJournal interactionJournal;
+    private final UserService userService;
+
+    public InteractionService(InteractionJournal interactionJournal, UserService userService) {
+        this.interactionJournal = interactionJournal;
+        this.userService = userService;
+    }
+
+    public void record(String principalName, String type, int publicationId) {
+        int userId = userService.getAuthenticatedUser(principalName).getId();
+        record(InteractionType.fromName(type), userId, publicationId);
+    }
+
+    // Written to the journal only; the database sees it when the segment is compacted
+    public void record(InteractionType type, int userId, int publicationId) {
+        interactionJournal.append(new InteractionEvent(type, userId, publicationId, System.currentTimeMillis()));
+    }
+}
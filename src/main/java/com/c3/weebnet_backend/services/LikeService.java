@@ -0,0 +1,80 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.cache.UserBatchLoader;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.LikeDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.Like;
+import com.c3.weebnet_backend.repositories.LikeRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository.ArchivedInteraction;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class LikeService {
+
+    private final LikeRepository likeRepository;
+    private final PublicationService publicationService;
+    private final UserBatchLoader userBatchLoader;
+    private final PublicationArchiveRepository archiveRepository;
+
+    public LikeService(LikeRepository likeRepository, PublicationService publicationService,
+                       UserBatchLoader userBatchLoader, PublicationArchiveRepository archiveRepository) {
+        this.likeRepository = likeRepository;
+        this.publicationService = publicationService;
+        this.userBatchLoader = userBatchLoader;
+        this.archiveRepository = archiveRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LikeDTO> listLikes(int publicationId, String cursor, Integer size) {
+        boolean archived = publicationService.isArchived(publicationId);
+        int pageSize = Pagination.pageSize(size);
+        Integer afterId = Pagination.decodeIdCursor(cursor);
+        if (archived) {
+            return listArchivedLikes(publicationId, afterId, pageSize);
+        }
+
+        List<Like> likes = afterId == null
+                ? likeRepository.findByPublicationIdOrderByIdDesc(publicationId, Pagination.probe(pageSize))
+                : likeRepository.findByPublicationIdAndIdLessThanOrderByIdDesc(publicationId, afterId, Pagination.probe(pageSize));
+        boolean hasMore = likes.size() > pageSize;
+        if (hasMore) {
+            likes = likes.subList(0, pageSize);
+        }
+
+        Map<Integer, UserSummaryDTO> users = userBatchLoader.loadMany(
+                likes.stream().map(like -> like.getUser().getId()).toList());
+
+        List<LikeDTO> items = new ArrayList<>(likes.size());
+        for (Like like : likes) {
+            items.add(new LikeDTO(like.getId(), publicationId, users.get(like.getUser().getId()), like.getCreatedAt()));
+        }
+        String nextCursor = hasMore ? Pagination.encodeIdCursor(likes.get(likes.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    private CursorPageDTO<LikeDTO> listArchivedLikes(int publicationId, Integer afterId, int pageSize) {
+        List<ArchivedInteraction> likes = archiveRepository.findLikes(publicationId, afterId, pageSize + 1);
+        boolean hasMore = likes.size() > pageSize;
+        if (hasMore) {
+            likes = likes.subList(0, pageSize);
+        }
+
+        Map<Integer, UserSummaryDTO> users = userBatchLoader.loadMany(
+                likes.stream().map(ArchivedInteraction::getUserId).toList());
+
+        List<LikeDTO> items = new ArrayList<>(likes.size());
+        for (ArchivedInteraction like : likes) {
+            items.add(new LikeDTO(like.getId(), publicationId, users.get(like.getUserId()), like.getCreatedAt()));
+        }
+        String nextCursor = hasMore ? Pagination.encodeIdCursor(likes.get(likes.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+}
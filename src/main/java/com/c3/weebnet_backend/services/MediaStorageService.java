@@ -0,0 +1,155 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.dto.MediaDTO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed media store on local disk.
+ *
+ * A file is stored once under the SHA-256 of its bytes, in root/ab/cd/abcd....ext, so uploading the same image
+ * twice costs no extra space and its URL never changes meaning. Only images are accepted; the type is detected
+ * from the file's magic bytes, not from the client's Content-Type.
+ */
+@Service
+public class MediaStorageService {
+
+    public static final String URL_PREFIX = "/api/media/";
+
+    // hash.ext for originals, hash-width.ext for the resized variants written by ThumbnailService
+    private static final Pattern MEDIA_NAME = Pattern.compile("^[0-9a-f]{64}(-[0-9]{1,5})?\\.(jpg|png|gif|webp)$");
+
+    private final Path root;
+
+    public MediaStorageService(@Value("${weebnet.media.root:./media}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        Files.createDirectories(this.root.resolve("tmp"));
+    }
+
+    public MediaDTO store(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is empty.");
+        }
+
+        // Hash while streaming to a temp file, so the upload is read exactly once and never held in memory
+        Path temp = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String extension = detectExtension(temp);
+            if (extension == null) {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only JPEG, PNG, GIF and WebP images are accepted.");
+            }
+
+            String name = hash + "." + extension;
+            Path target = pathOf(name);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same content uploaded concurrently: the other copy won, which is just as good
+                }
+            }
+            return new MediaDTO(hash, URL_PREFIX + name, contentTypeOf(extension), Files.size(target));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Resolves a media name (hash.ext) to its file, rejecting anything that is not a well-formed name.
+     */
+    public Optional<Path> find(String name) {
+        if (name == null || !MEDIA_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(name);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Media name (hash.ext) behind a photo URL served by this store, or empty for external URLs.
+     */
+    public static Optional<String> nameOf(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return Optional.empty();
+        }
+        String name = url.substring(URL_PREFIX.length());
+        return MEDIA_NAME.matcher(name).matches() ? Optional.of(name) : Optional.empty();
+    }
+
+    public static String hashOf(String name) {
+        return name.substring(0, 64);
+    }
+
+    public static String contentTypeOf(String name) {
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "jpg" -> "image/jpeg";
+            case "png" -> "image/png";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            default -> "application/octet-stream";
+        };
+    }
+
+    Path newTempFile() throws IOException {
+        return Files.createTempFile(root.resolve("tmp"), "variant-", ".part");
+    }
+
+    Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    private static String detectExtension(Path file) throws IOException {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "gif";
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
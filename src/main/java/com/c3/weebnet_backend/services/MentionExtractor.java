@@ -0,0 +1,62 @@
+package com.c3.weebnet_backend.services;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Extracts @username mentions from publication and comment text.
+ * The text is scanned once, character by character; no regex backtracking and no intermediate strings
+ * other than the usernames themselves.
+ */
+public final class MentionExtractor {
+
+    // Same bounds as User.username
+    static final int MIN_USERNAME_LENGTH = 4;
+    static final int MAX_USERNAME_LENGTH = 50;
+
+    private MentionExtractor() {
+    }
+
+    /**
+     * Returns the distinct usernames mentioned in the text, in order of first appearance, up to the given cap.
+     * A mention is an '@' that does not follow a username character (so emails are ignored),
+     * followed by letters, digits, '_' or '.'. Trailing dots are treated as punctuation.
+     */
+    public static Set<String> extract(String text, int cap) {
+        Set<String> usernames = new LinkedHashSet<>();
+        if (text == null || cap <= 0) {
+            return usernames;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length && usernames.size() < cap) {
+            char c = text.charAt(i);
+            if (c != '@' || (i > 0 && isUsernameChar(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+
+            int start = i + 1;
+            int end = start;
+            while (end < length && isUsernameChar(text.charAt(end))) {
+                end++;
+            }
+            int trimmedEnd = end;
+            while (trimmedEnd > start && text.charAt(trimmedEnd - 1) == '.') {
+                trimmedEnd--;
+            }
+
+            int size = trimmedEnd - start;
+            if (size >= MIN_USERNAME_LENGTH && size <= MAX_USERNAME_LENGTH) {
+                usernames.add(text.substring(start, trimmedEnd));
+            }
+            i = Math.max(end, start);
+        }
+        return usernames;
+    }
+
+    private static boolean isUsernameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.';
+    }
+}
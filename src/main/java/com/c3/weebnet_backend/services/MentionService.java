@@ -0,0 +1,100 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import com.c3.weebnet_backend.repositories.UserRepository.UserIdView;
+import com.c3.weebnet_backend.services.NotifcationService.NotificationDraft;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns @username mentions in publications and comments into "mention" notifications.
+ * Whatever the number of texts and mentions, this costs one SELECT ... WHERE username IN (...)
+ * and one batched INSERT.
+ */
+@Service
+public class MentionService {
+
+    static final int MAX_MENTIONS_PER_POST = 10;
+
+    private final UserRepository userRepository;
+    private final NotifcationService notificationService;
+
+    public MentionService(UserRepository userRepository, NotifcationService notificationService) {
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+    }
+
+    @Transactional
+    public void notifyMentions(MentionSource source) {
+        notifyMentions(List.of(source));
+    }
+
+    @Transactional
+    public void notifyMentions(List<MentionSource> sources) {
+        List<Set<String>> mentionsPerSource = new ArrayList<>(sources.size());
+        Set<String> allUsernames = new HashSet<>();
+        for (MentionSource source : sources) {
+            Set<String> mentions = MentionExtractor.extract(source.getText(), MAX_MENTIONS_PER_POST);
+            mentionsPerSource.add(mentions);
+            allUsernames.addAll(mentions);
+        }
+        if (allUsernames.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> idsByUsername = new HashMap<>();
+        for (UserIdView user : userRepository.findIdsByUsernameIn(allUsernames)) {
+            idsByUsername.put(user.getUsername(), user.getId());
+        }
+
+        List<NotificationDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            MentionSource source = sources.get(i);
+            Set<Integer> notified = new HashSet<>();
+            for (String username : mentionsPerSource.get(i)) {
+                Integer receiverId = idsByUsername.get(username);
+                // Unknown usernames and self-mentions are dropped; a user is notified once per text
+                if (receiverId != null && receiverId != source.getAuthorId() && notified.add(receiverId)) {
+                    drafts.add(new NotificationDraft(source.getAuthorId(), receiverId, source.getDescription()));
+                }
+            }
+        }
+        notificationService.createAll(TypeInteraction.MENTION, drafts);
+    }
+
+    /**
+     * A piece of user-written text that may contain mentions.
+     */
+    public static class MentionSource {
+        private final int authorId;
+        private final String text;
+        private final String description;
+
+        public MentionSource(int authorId, String text, String description) {
+            this.authorId = authorId;
+            this.text = text;
+            this.description = description;
+        }
+
+        public int getAuthorId() {
+            return authorId;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
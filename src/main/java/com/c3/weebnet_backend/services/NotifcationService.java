@@ -1,5 +1,139 @@
 package com.c3.weebnet_backend.services;
 
+import com.c3.weebnet_backend.cache.TypeInteractionRegistry;
+import com.c3.weebnet_backend.cache.UserBatchLoader;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.NotificationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.Notification;
+import com.c3.weebnet_backend.repositories.NotificationRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
 public class NotifcationService {
 
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (type, content, id_giver, id_receiver) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationRepository notificationRepository;
+    private final UserService userService;
+    private final UserBatchLoader userBatchLoader;
+    private final TypeInteractionRegistry typeInteractionRegistry;
+    private final int recentDays;
+
+    public NotifcationService(JdbcTemplate jdbcTemplate, NotificationRepository notificationRepository,
+                              UserService userService, UserBatchLoader userBatchLoader,
+                              TypeInteractionRegistry typeInteractionRegistry,
+                              @Value("${weebnet.notifications.recent-days:60}") int recentDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationRepository = notificationRepository;
+        this.userService = userService;
+        this.userBatchLoader = userBatchLoader;
+        this.typeInteractionRegistry = typeInteractionRegistry;
+        this.recentDays = recentDays;
+    }
+
+    /**
+     * The authenticated user's notifications of the last weebnet.notifications.recent-days, newest first.
+     * Older ones are not listed, so a page only reads the two or three most recent monthly partitions.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationDTO> listNotifications(String principalName, String cursor, Integer size) {
+        int receiverId = userService.getAuthenticatedUser(principalName).getId();
+        int pageSize = Pagination.pageSize(size);
+        Integer afterId = Pagination.decodeIdCursor(cursor);
+        LocalDateTime since = LocalDateTime.now().minusDays(recentDays);
+
+        List<Notification> notifications = afterId == null
+                ? notificationRepository.findLatestByReceiver(receiverId, since, Pagination.probe(pageSize))
+                : notificationRepository.findLatestByReceiverBefore(receiverId, since, afterId,
+                        Pagination.probe(pageSize));
+        boolean hasMore = notifications.size() > pageSize;
+        if (hasMore) {
+            notifications = notifications.subList(0, pageSize);
+        }
+
+        List<NotificationDTO> items = toDTOs(notifications);
+        String nextCursor = hasMore ? Pagination.encodeIdCursor(notifications.get(notifications.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    /** The receiver's notifications among the given ids, newest first. */
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getNotifications(int receiverId, Collection<Integer> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime since = LocalDateTime.now().minusDays(recentDays);
+        return toDTOs(notificationRepository.findByReceiverAndIds(receiverId, since, notificationIds));
+    }
+
+    /**
+     * Inserts all notifications as one JDBC batch.
+     * notifications.id is an IDENTITY column, which disables Hibernate's insert batching,
+     * so notifications are written through JdbcTemplate instead of NotificationRepository.save().
+     */
+    @Transactional
+    public void createAll(String type, List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        int typeId = typeInteractionRegistry.idOf(type);
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, drafts, drafts.size(), (ps, draft) -> {
+            ps.setInt(1, typeId);
+            ps.setString(2, draft.getContent());
+            ps.setInt(3, draft.getGiverId());
+            ps.setInt(4, draft.getReceiverId());
+        });
+    }
+
+    private List<NotificationDTO> toDTOs(List<Notification> notifications) {
+        Map<Integer, UserSummaryDTO> givers = userBatchLoader.loadMany(
+                notifications.stream().map(notification -> notification.getGiver().getId()).toList());
+
+        List<NotificationDTO> items = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            items.add(new NotificationDTO(notification.getId(), notification.getType().getType(),
+                    notification.getContent(), givers.get(notification.getGiver().getId()), notification.getCreatedAt()));
+        }
+        return items;
+    }
+
+    /**
+     * A notification waiting to be written.
+     */
+    public static class NotificationDraft {
+        private final int giverId;
+        private final int receiverId;
+        private final String content;
+
+        public NotificationDraft(int giverId, int receiverId, String content) {
+            this.giverId = giverId;
+            this.receiverId = receiverId;
+            this.content = content;
+        }
+
+        public int getGiverId() {
+            return giverId;
+        }
+
+        public int getReceiverId() {
+            return receiverId;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package com.c3.weebnet_backend.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of notifications (notifications_YYYY_MM) in shape.
+ *
+ * Partitions for the current month and weebnet.notifications.partitions.months-ahead following ones are created
+ * in advance. Partitions older than retention-months are dropped, or detached and moved to the
+ * notifications_archive schema, instead of deleting their rows: a metadata change rather than millions of dead
+ * tuples for vacuum. Rows that reached the default partition because their month was missing are moved into it
+ * when it gets created.
+ *
+ * Every step runs in its own short transaction under a transaction-level advisory lock, so with several nodes only
+ * one maintains at a time, and with a lock_timeout, so DDL waiting for the parent table never blocks the inserts
+ * queued behind it for long: a step that times out is retried on the next run.
+ */
+@Component
+public class NotificationPartitionMaintainer {
+
+    static final String ARCHIVE = "archive";
+    static final String DROP = "drop";
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPartitionMaintainer.class);
+
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final String ARCHIVE_SCHEMA = "notifications_archive";
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM", Locale.ROOT);
+    // Any constant agreed on by all nodes
+    private static final long ADVISORY_LOCK_KEY = 4_649_173_112L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String expiredPartitions;
+    private final long lockTimeoutMillis;
+
+    public NotificationPartitionMaintainer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                           @Value("${weebnet.notifications.partitions.months-ahead:3}") int monthsAhead,
+                                           @Value("${weebnet.notifications.partitions.retention-months:12}") int retentionMonths,
+                                           @Value("${weebnet.notifications.partitions.expired:archive}") String expiredPartitions,
+                                           @Value("${weebnet.notifications.partitions.lock-timeout-ms:2000}") long lockTimeoutMillis) {
+        if (!expiredPartitions.equals(ARCHIVE) && !expiredPartitions.equals(DROP)) {
+            throw new IllegalArgumentException("weebnet.notifications.partitions.expired must be archive or drop");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.expiredPartitions = expiredPartitions;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${weebnet.notifications.partitions.check-interval-ms:3600000}")
+    public void maintain() {
+        // The database clock decides which month it is, as it does for created_at
+        LocalDate currentMonth = jdbcTemplate.queryForObject(
+                "SELECT CAST(date_trunc('month', LOCALTIMESTAMP) AS date)", LocalDate.class);
+        List<String> partitions = partitions();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = currentMonth.plusMonths(i);
+            if (!partitions.contains(partitionName(month))) {
+                step("create " + partitionName(month), () -> create(month));
+            }
+        }
+
+        LocalDate oldestKept = currentMonth.minusMonths(retentionMonths);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches() && LocalDate.of(Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)), 1).isBefore(oldestKept)) {
+                step(expiredPartitions + " " + partition, () -> expire(partition));
+            }
+        }
+    }
+
+    static String partitionName(LocalDate month) {
+        return "notifications_" + month.format(SUFFIX);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = CAST('notifications' AS regclass)", String.class);
+    }
+
+    private void create(LocalDate month) {
+        String partition = partitionName(month);
+        LocalDate end = month.plusMonths(1);
+        Integer stranded = jdbcTemplate.queryForObject("SELECT count(*) FROM " + DEFAULT_PARTITION +
+                " WHERE created_at >= ? AND created_at < ?", Integer.class, month, end);
+        if (stranded == 0) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF notifications " +
+                    "FOR VALUES FROM ('" + month + "') TO ('" + end + "')");
+            log.info("Created notification partition {}", partition);
+            return;
+        }
+        // Attaching a range the default partition still holds rows for is rejected: move them over first
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE notifications INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                " WHERE created_at >= ? AND created_at < ? RETURNING *) INSERT INTO " + partition +
+                " SELECT * FROM moved", month, end);
+        jdbcTemplate.execute("ALTER TABLE notifications ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + month + "') TO ('" + end + "')");
+        log.warn("Created notification partition {} late, moving {} rows out of {}", partition, stranded,
+                DEFAULT_PARTITION);
+    }
+
+    private void expire(String partition) {
+        if (expiredPartitions.equals(DROP)) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Dropped expired notification partition {}", partition);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        log.info("Archived expired notification partition {} to {}", partition, ARCHIVE_SCHEMA);
+    }
+
+    private void step(String description, Runnable ddl) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                        ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return; // another node is at it
+                }
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMillis);
+                ddl.run();
+            });
+        } catch (DataAccessException e) {
+            log.warn("Notification partition maintenance could not {}, retrying on the next run", description, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.c3.weebnet_backend.services;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Page size limits and id cursors shared by the keyset-paginated listings.
+ * Listings ordered by id descending use the last id of a page as the cursor of the next one.
+ */
+final class Pagination {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+
+    private Pagination() {
+    }
+
+    static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // One extra row tells whether there is a next page without a count query
+    static Pageable probe(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    static Integer decodeIdCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+
+    static String encodeIdCursor(int id) {
+        return Integer.toString(id);
+    }
+}
@@ -0,0 +1,176 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.cache.ProfileCaches;
+import com.c3.weebnet_backend.dto.ProfileDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.FollowRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Assembles a profile page from independent parts loaded in parallel.
+ *
+ * The user itself comes from the second-level cache on the request thread; counts, follow status, latest
+ * publications and mutual followers are then started together on a bounded pool, and each gets the same budget
+ * measured from that moment. The response waits for the slowest part that makes it in time, not for the sum of
+ * all of them. A part that is late, fails or finds the pool saturated is left out and named in
+ * {@link ProfileDTO#getDegraded()} instead of failing the page.
+ *
+ * Counts and latest publications are the same for every viewer and come from {@link ProfileCaches}, so a popular
+ * profile costs one count query per refresh rather than one per visitor.
+ *
+ * Parts run outside the request thread, so their statements are not attributed to the request by the SQL monitor.
+ */
+@Service
+public class ProfileService {
+
+    static final String COUNTS = "counts";
+    static final String FOLLOWING = "following";
+    static final String PUBLICATIONS = "publications";
+    static final String MUTUAL_FOLLOWERS = "mutualFollowers";
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileService.class);
+
+    private final UserService userService;
+    private final PublicationService publicationService;
+    private final FollowRepository followRepository;
+    private final ProfileCaches profileCaches;
+    private final ThumbnailService thumbnailService;
+    private final MeterRegistry meterRegistry;
+    private final long partTimeoutNanos;
+    private final int latestPublications;
+    private final int mutualFollowers;
+    private final ThreadPoolExecutor executor;
+
+    public ProfileService(UserService userService, PublicationService publicationService,
+                          FollowRepository followRepository, ProfileCaches profileCaches,
+                          ThumbnailService thumbnailService, MeterRegistry meterRegistry,
+                          @Value("${weebnet.profile.part-timeout-ms:200}") long partTimeoutMillis,
+                          @Value("${weebnet.profile.latest-publications:10}") int latestPublications,
+                          @Value("${weebnet.profile.mutual-followers:5}") int mutualFollowers,
+                          @Value("${weebnet.profile.threads:16}") int threads,
+                          @Value("${weebnet.profile.queue-capacity:256}") int queueCapacity) {
+        this.userService = userService;
+        this.publicationService = publicationService;
+        this.followRepository = followRepository;
+        this.profileCaches = profileCaches;
+        this.thumbnailService = thumbnailService;
+        this.meterRegistry = meterRegistry;
+        this.partTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(partTimeoutMillis);
+        this.latestPublications = latestPublications;
+        this.mutualFollowers = mutualFollowers;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "profile-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public ProfileDTO getProfile(String username, String principalName) {
+        User user = userService.getUserByUsername(username)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        User viewer = userService.getAuthenticatedUser(principalName);
+        UserSummaryDTO summary = UserService.toSummary(user);
+        thumbnailService.attachAvatarVariants(List.of(summary));
+        int userId = user.getId();
+        int viewerId = viewer.getId();
+        boolean self = userId == viewerId;
+
+        long deadline = System.nanoTime() + partTimeoutNanos;
+        CompletableFuture<long[]> counts = submit(() -> profileCaches.followCounts()
+                .get(userId, followRepository::countFollowersAndFollowing));
+        CompletableFuture<Boolean> following = self ? null : submit(() -> followRepository.isFollowing(viewerId, userId));
+        CompletableFuture<List<PublicationDTO>> publications =
+                submit(() -> profileCaches.latestPublications()
+                        .get(userId, id -> publicationService.latestByAuthor(summary, latestPublications)));
+        CompletableFuture<List<UserSummaryDTO>> mutual = self ? null
+                : submit(() -> {
+                    List<UserSummaryDTO> users = followRepository.findMutualFollowers(viewerId, userId, mutualFollowers);
+                    thumbnailService.attachAvatarVariants(users);
+                    return users;
+                });
+
+        ProfileDTO profile = new ProfileDTO(summary, user.getBio());
+        long[] followCounts = await(COUNTS, counts, deadline, profile);
+        if (followCounts != null) {
+            profile.setFollowerCount(followCounts[0]);
+            profile.setFollowingCount(followCounts[1]);
+        }
+        profile.setLatestPublications(await(PUBLICATIONS, publications, deadline, profile));
+        if (self) {
+            profile.setMutualFollowers(List.of());
+        } else {
+            profile.setFollowing(await(FOLLOWING, following, deadline, profile));
+            profile.setMutualFollowers(await(MUTUAL_FOLLOWERS, mutual, deadline, profile));
+        }
+        return profile;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> part) {
+        try {
+            return CompletableFuture.supplyAsync(part, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for a part until the shared deadline. Returns null, and marks the part as degraded, if it did not
+     * complete successfully in time.
+     */
+    private <T> T await(String part, CompletableFuture<T> future, long deadline, ProfileDTO profile) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The query keeps its pool thread until it returns; the bounded pool caps how many can pile up
+            future.cancel(false);
+            degrade(part, "timeout", profile);
+        } catch (ExecutionException e) {
+            log.warn("Profile part {} failed", part, e.getCause());
+            degrade(part, e.getCause() instanceof RejectedExecutionException ? "rejected" : "error", profile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            degrade(part, "interrupted", profile);
+        }
+        return null;
+    }
+
+    private void degrade(String part, String reason, ProfileDTO profile) {
+        profile.getDegraded().add(part);
+        Counter.builder("weebnet.profile.degraded")
+                .description("Profile parts left out of the response")
+                .tag("part", part)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves publications older than weebnet.archive.max-age-days, with their tags, likes and comments, to
+ * publications_archive, so the hot tables and their indexes only hold what is still read often.
+ *
+ * Each chunk of batch-size publications is its own short transaction that only locks the rows it moves, and the
+ * job pauses between chunks so vacuum and replication keep up. Several nodes can run it at once: rows already
+ * locked by one are skipped by the others. Reads of an archived publication fall back to the archive in
+ * {@link PublicationService}.
+ */
+@Component
+public class PublicationArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicationArchiver.class);
+
+    private final PublicationArchiveRepository archiveRepository;
+    private final boolean enabled;
+    private final int maxAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final Counter archived;
+
+    public PublicationArchiver(PublicationArchiveRepository archiveRepository, MeterRegistry meterRegistry,
+                               @Value("${weebnet.archive.enabled:true}") boolean enabled,
+                               @Value("${weebnet.archive.max-age-days:180}") int maxAgeDays,
+                               @Value("${weebnet.archive.batch-size:500}") int batchSize,
+                               @Value("${weebnet.archive.max-batches-per-run:200}") int maxBatchesPerRun,
+                               @Value("${weebnet.archive.pause-ms:200}") long pauseMillis) {
+        this.archiveRepository = archiveRepository;
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.archived = Counter.builder("weebnet.archive.publications")
+                .description("Publications moved to publications_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${weebnet.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${weebnet.archive.interval-ms:3600000}")
+    public void archiveOldPublications() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = archiveRepository.archiveBatch(cutoff, batchSize);
+                total += moved;
+                archived.increment(moved);
+                if (moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Publication archiving stopped after {} publications, resuming on the next run", total, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (total > 0) {
+            log.info("Archived {} publications created before {}", total, cutoff);
+        }
+    }
+}
@@ -1,5 +1,282 @@
 package com.c3.weebnet_backend.services;
 
+import com.c3.weebnet_backend.cache.CacheInvalidator;
+import com.c3.weebnet_backend.cache.UserBatchLoader;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.PublicationCreateDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.Publication;
+import com.c3.weebnet_backend.entities.PublicationTag;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository.ArchivedPublication;
+import com.c3.weebnet_backend.repositories.PublicationRepository;
+import com.c3.weebnet_backend.repositories.PublicationRepository.PublicationRow;
+import com.c3.weebnet_backend.repositories.PublicationRepository.SearchRow;
+import com.c3.weebnet_backend.repositories.PublicationRepository.TagRow;
+import com.c3.weebnet_backend.repositories.PublicationVersionView;
+import com.c3.weebnet_backend.services.MentionService.MentionSource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
 public class PublicationService {
 
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private final PublicationRepository publicationRepository;
+    private final UserService userService;
+    private final MentionService mentionService;
+    private final UserBatchLoader userBatchLoader;
+    private final ThumbnailService thumbnailService;
+    private final CacheInvalidator cacheInvalidator;
+    private final PublicationArchiveRepository archiveRepository;
+
+    public PublicationService(PublicationRepository publicationRepository, UserService userService,
+                              MentionService mentionService, UserBatchLoader userBatchLoader,
+                              ThumbnailService thumbnailService, CacheInvalidator cacheInvalidator,
+                              PublicationArchiveRepository archiveRepository) {
+        this.publicationRepository = publicationRepository;
+        this.userService = userService;
+        this.mentionService = mentionService;
+        this.userBatchLoader = userBatchLoader;
+        this.thumbnailService = thumbnailService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.archiveRepository = archiveRepository;
+    }
+
+    @Transactional
+    public PublicationDTO createPublication(String principalName, PublicationCreateDTO publicationDTO) {
+        User author = userService.getAuthenticatedUser(principalName);
+
+        Publication publication = new Publication(publicationDTO.getText(), publicationDTO.getPhoto(), author);
+        if (publicationDTO.getTags() != null) {
+            // Tags are stored lowercase so the search filter can use the lower(tag) index
+            LinkedHashSet<String> tags = new LinkedHashSet<>();
+            for (String tag : publicationDTO.getTags()) {
+                tags.add(tag.trim().toLowerCase(Locale.ROOT));
+            }
+            tags.forEach(publication::addTag);
+        }
+        Publication saved = publicationRepository.save(publication);
+        // The worker bumps the version of publications using the photo: it must run once this one is visible
+        afterCommit(() -> thumbnailService.submitUrl(saved.getPhoto()));
+        // Dropped before commit, the author's latest publications could be reloaded without this one and cached again
+        afterCommit(() -> cacheInvalidator.userPublished(author.getId()));
+
+        mentionService.notifyMentions(new MentionSource(author.getId(), saved.getText(),
+                author.getUsername() + " mentioned you in a publication"));
+
+        return toDTO(saved);
+    }
+
+    public Publication getPublication(int publicationId) {
+        return publicationRepository.findById(publicationId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Publication not found"));
+    }
+
+    // Reads below fall back to publications_archive when the publication has been archived (see PublicationArchiver)
+
+    public Optional<PublicationVersionView> getPublicationVersion(int publicationId) {
+        return publicationRepository.findVersionById(publicationId)
+                .or(() -> archiveRepository.findVersion(publicationId));
+    }
+
+    @Transactional(readOnly = true)
+    public PublicationDTO getPublicationDTO(int publicationId) {
+        return publicationRepository.findById(publicationId).map(this::toDTO)
+                .or(() -> archiveRepository.find(publicationId).map(this::toDTO))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Publication not found"));
+    }
+
+    public void requireExists(int publicationId) {
+        isArchived(publicationId);
+    }
+
+    /**
+     * Whether the publication has been moved to the archive, whose likes and comments are read from there.
+     * Throws 404 if it is in neither table.
+     */
+    public boolean isArchived(int publicationId) {
+        if (publicationRepository.existsById(publicationId)) {
+            return false;
+        }
+        if (archiveRepository.exists(publicationId)) {
+            return true;
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Publication not found");
+    }
+
+    /**
+     * Full-text search ordered by relevance, then by id for a stable order between pages.
+     * The cursor encodes the (rank, id) of the last row returned, so each page is a single indexed query
+     * no matter how deep the client scrolls.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PublicationDTO> search(String query, String tag, String cursor, Integer size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is too long.");
+        }
+
+        int limit = Pagination.pageSize(size);
+        String normalizedTag = (tag == null || tag.trim().isEmpty()) ? null : tag.trim().toLowerCase(Locale.ROOT);
+
+        Double afterRank = null;
+        Integer afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            double[] decoded = decodeCursor(cursor);
+            afterRank = decoded[0];
+            afterId = (int) decoded[1];
+        }
+
+        // Fetch one extra row to know whether there is a next page without a count query.
+        List<SearchRow> rows = publicationRepository.search(query.trim(), normalizedTag, afterRank, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        Map<Integer, List<String>> tagsByPublication = loadTags(rows);
+        Map<Integer, UserSummaryDTO> authors = userBatchLoader.loadMany(rows.stream().map(SearchRow::getAuthorId).toList());
+        Map<String, Map<Integer, String>> variants = thumbnailService.variantsFor(rows.stream().map(SearchRow::getPhoto).toList());
+        List<PublicationDTO> items = new ArrayList<>(rows.size());
+        for (SearchRow row : rows) {
+            PublicationDTO dto = new PublicationDTO(row.getId(), row.getText(), row.getPhoto(), row.getAuthorId(),
+                    row.getCreatedAt(), tagsByPublication.getOrDefault(row.getId(), List.of()));
+            dto.setAuthor(authors.get(row.getAuthorId()));
+            dto.setPhotoVariants(variants.get(row.getPhoto()));
+            items.add(dto);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            SearchRow last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(last.getRank(), last.getId());
+        }
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    /**
+     * Latest publications of one author, newest first. Makes no use of request-scoped beans, so it can run on
+     * any thread (the profile endpoint loads it in parallel with the rest of the page).
+     */
+    public List<PublicationDTO> latestByAuthor(UserSummaryDTO author, int limit) {
+        List<PublicationRow> rows = publicationRepository.findLatestByAuthor(author.getId(), limit);
+        Map<Integer, List<String>> tagsByPublication = loadTags(rows);
+        Map<String, Map<Integer, String>> variants = thumbnailService.variantsFor(rows.stream().map(PublicationRow::getPhoto).toList());
+        List<PublicationDTO> items = new ArrayList<>(rows.size());
+        for (PublicationRow row : rows) {
+            PublicationDTO dto = new PublicationDTO(row.getId(), row.getText(), row.getPhoto(), row.getAuthorId(),
+                    row.getCreatedAt(), tagsByPublication.getOrDefault(row.getId(), List.of()));
+            dto.setAuthor(author);
+            dto.setPhotoVariants(variants.get(row.getPhoto()));
+            items.add(dto);
+        }
+        return items;
+    }
+
+    /** The given publications newest first, skipping ids that no longer exist. */
+    @Transactional(readOnly = true)
+    public List<PublicationDTO> getPublicationDTOs(Collection<Integer> publicationIds) {
+        if (publicationIds.isEmpty()) {
+            return List.of();
+        }
+        List<PublicationRow> rows = publicationRepository.findRowsByIds(publicationIds);
+        Map<Integer, List<String>> tagsByPublication = loadTags(rows);
+        Map<Integer, UserSummaryDTO> authors = userBatchLoader.loadMany(rows.stream().map(PublicationRow::getAuthorId).toList());
+        Map<String, Map<Integer, String>> variants = thumbnailService.variantsFor(rows.stream().map(PublicationRow::getPhoto).toList());
+        List<PublicationDTO> items = new ArrayList<>(rows.size());
+        for (PublicationRow row : rows) {
+            PublicationDTO dto = new PublicationDTO(row.getId(), row.getText(), row.getPhoto(), row.getAuthorId(),
+                    row.getCreatedAt(), tagsByPublication.getOrDefault(row.getId(), List.of()));
+            dto.setAuthor(authors.get(row.getAuthorId()));
+            dto.setPhotoVariants(variants.get(row.getPhoto()));
+            items.add(dto);
+        }
+        return items;
+    }
+
+    private PublicationDTO toDTO(ArchivedPublication publication) {
+        PublicationDTO dto = new PublicationDTO(publication.getId(), publication.getText(), publication.getPhoto(),
+                publication.getUserId(), publication.getCreatedAt(), publication.getTags());
+        dto.setAuthor(userBatchLoader.loadMany(List.of(publication.getUserId())).get(publication.getUserId()));
+        dto.setVersion(publication.getVersion());
+        if (publication.getPhoto() != null) {
+            dto.setPhotoVariants(thumbnailService.variantsFor(List.of(publication.getPhoto())).get(publication.getPhoto()));
+        }
+        return dto;
+    }
+
+    private PublicationDTO toDTO(Publication publication) {
+        List<String> tags = publication.getTags().stream().map(PublicationTag::getTag).toList();
+        PublicationDTO dto = new PublicationDTO(publication.getId(), publication.getText(), publication.getPhoto(),
+                publication.getUser().getId(), publication.getCreatedAt(), tags);
+        dto.setAuthor(UserService.toSummary(publication.getUser()));
+        dto.setVersion(publication.getVersion());
+        if (publication.getPhoto() != null) {
+            dto.setPhotoVariants(thumbnailService.variantsFor(List.of(publication.getPhoto())).get(publication.getPhoto()));
+        }
+        return dto;
+    }
+
+    /** Runs the action once the current transaction has committed, or at once outside a transaction. */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Map<Integer, List<String>> loadTags(List<? extends PublicationRow> rows) {
+        Map<Integer, List<String>> tagsByPublication = new HashMap<>();
+        if (rows.isEmpty()) {
+            return tagsByPublication;
+        }
+        List<Integer> ids = rows.stream().map(PublicationRow::getId).toList();
+        for (TagRow tagRow : publicationRepository.findTagsByPublicationIds(ids)) {
+            tagsByPublication.computeIfAbsent(tagRow.getPublicationId(), id -> new ArrayList<>()).add(tagRow.getTag());
+        }
+        return tagsByPublication;
+    }
+
+    static String encodeCursor(double rank, int id) {
+        String raw = Double.toString(rank) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static double[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new double[] { Double.parseDouble(raw.substring(0, separator)), Integer.parseInt(raw.substring(separator + 1)) };
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
 }
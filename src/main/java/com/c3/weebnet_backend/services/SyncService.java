@@ -0,0 +1,112 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.dto.SyncDTO;
+import com.c3.weebnet_backend.repositories.ChangeLogRepository;
+import com.c3.weebnet_backend.repositories.ChangeLogRepository.Change;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delta sync for clients that keep their own copy of a user's notifications, timeline and counters.
+ *
+ * The cursor is a transaction id horizon: every transaction below it had finished when the cursor was issued, so a
+ * change committed late by a long transaction is still picked up by the next sync instead of being skipped like it
+ * would be behind a serial id. When the cursor is older than the pruned part of the log, unreadable, or more than
+ * weebnet.sync.max-changes changes behind, the client is told to reset: reload its lists and keep the new cursor.
+ */
+@Service
+public class SyncService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final UserService userService;
+    private final PublicationService publicationService;
+    private final NotifcationService notifcationService;
+    private final int maxChanges;
+
+    public SyncService(ChangeLogRepository changeLogRepository, UserService userService,
+                       PublicationService publicationService, NotifcationService notifcationService,
+                       @Value("${weebnet.sync.max-changes:200}") int maxChanges) {
+        this.changeLogRepository = changeLogRepository;
+        this.userService = userService;
+        this.publicationService = publicationService;
+        this.notifcationService = notifcationService;
+        this.maxChanges = maxChanges;
+    }
+
+    @Transactional(readOnly = true)
+    public SyncDTO sync(String principalName, String cursor) {
+        int userId = userService.getAuthenticatedUser(principalName).getId();
+        long[] positions = changeLogRepository.positions();
+        long horizon = positions[0];
+        long prunedThrough = positions[1];
+        String nextCursor = encodeCursor(horizon);
+
+        Long since = decodeCursor(cursor);
+        if (since == null || since <= prunedThrough || since > horizon) {
+            return SyncDTO.reset(nextCursor);
+        }
+        SyncDTO sync = new SyncDTO(nextCursor);
+        if (since == horizon) {
+            return sync;
+        }
+        List<Change> changes = changeLogRepository.findChanges(userId, since, horizon, maxChanges + 1);
+        if (changes.size() > maxChanges) {
+            return SyncDTO.reset(nextCursor);
+        }
+
+        Set<Integer> notificationIds = new LinkedHashSet<>();
+        Set<Integer> publicationIds = new LinkedHashSet<>();
+        Set<Integer> profileIds = new LinkedHashSet<>();
+        long followers = 0;
+        long following = 0;
+        long likes = 0;
+        for (Change change : changes) {
+            switch (change.getKind()) {
+                case Change.NOTIFICATION -> notificationIds.add(change.getEntity());
+                case Change.PUBLICATION -> publicationIds.add(change.getEntity());
+                case Change.PROFILE -> profileIds.add(change.getSubject());
+                case Change.FOLLOWERS -> followers += change.getDelta();
+                case Change.FOLLOWING -> following += change.getDelta();
+                case Change.LIKES -> likes += change.getDelta();
+                default -> { } // written by a newer version
+            }
+        }
+
+        sync.setNotifications(notifcationService.getNotifications(userId, notificationIds));
+        sync.setTimeline(publicationService.getPublicationDTOs(publicationIds));
+        sync.setProfiles(userService.getSummaries(new ArrayList<>(profileIds)));
+        putIfChanged(sync, "followers", followers);
+        putIfChanged(sync, "following", following);
+        putIfChanged(sync, "likes", likes);
+        return sync;
+    }
+
+    private static void putIfChanged(SyncDTO sync, String counter, long delta) {
+        if (delta != 0) {
+            sync.getCounters().put(counter, delta);
+        }
+    }
+
+    static String encodeCursor(long horizon) {
+        return Long.toString(horizon, 36);
+    }
+
+    /** Returns null when the cursor is missing or not one this service issued. */
+    static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor, 36);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.cache.CacheInvalidator;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.MediaVariant;
+import com.c3.weebnet_backend.repositories.MediaVariantRepository;
+import com.c3.weebnet_backend.repositories.PublicationRepository;
+import com.c3.weebnet_backend.repositories.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background pipeline that writes resized copies of uploaded images (hash-width.ext next to the original).
+ *
+ * Work runs on a fixed pool with one thread per core and a bounded queue, so a burst of uploads can never take
+ * request threads or unbounded memory; when the queue is full the image is skipped and picked up again the next
+ * time it is submitted. Images are content-addressed, so a hash is processed at most once: concurrent submissions
+ * are collapsed in memory and finished ones are recorded in media_variants.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final MediaStorageService mediaStorageService;
+    private final MediaVariantRepository mediaVariantRepository;
+    private final PublicationRepository publicationRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidator cacheInvalidator;
+    private final List<Integer> widths;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Timer processingTimer;
+    private final Counter rejectedCounter;
+
+    public ThumbnailService(MediaStorageService mediaStorageService, MediaVariantRepository mediaVariantRepository,
+                            PublicationRepository publicationRepository, UserRepository userRepository,
+                            CacheInvalidator cacheInvalidator, MeterRegistry meterRegistry,
+                            @Value("${weebnet.media.thumbnails.widths:160,480,1080}") List<Integer> widths,
+                            @Value("${weebnet.media.thumbnails.queue-capacity:256}") int queueCapacity) {
+        this.mediaStorageService = mediaStorageService;
+        this.mediaVariantRepository = mediaVariantRepository;
+        this.publicationRepository = publicationRepository;
+        this.userRepository = userRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.widths = widths.stream().sorted().toList();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("weebnet.media.thumbnails.queue", executor, e -> e.getQueue().size())
+                .description("Images waiting for thumbnail generation")
+                .register(meterRegistry);
+        Gauge.builder("weebnet.media.thumbnails.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Images being processed")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("weebnet.media.thumbnails.duration")
+                .description("Time to decode one image and write all its variants")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("weebnet.media.thumbnails.rejected")
+                .description("Images skipped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an image for processing given its photo URL. External URLs and already processed images are ignored.
+     */
+    public void submitUrl(String photoUrl) {
+        MediaStorageService.nameOf(photoUrl).ifPresent(this::submit);
+    }
+
+    /**
+     * Queues a stored original (hash.ext) for processing. Returns immediately.
+     */
+    public void submit(String name) {
+        if (name.indexOf('-') >= 0) {
+            return; // already a variant
+        }
+        String hash = MediaStorageService.hashOf(name);
+        if (!inFlight.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(name);
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            rejectedCounter.increment();
+            log.warn("Thumbnail queue full, skipping {}", name);
+        }
+    }
+
+    /**
+     * Variant URLs by width for each photo URL that has been processed. Photos that are external or not processed
+     * yet are absent from the result, and clients should fall back to the original photo.
+     */
+    public Map<String, Map<Integer, String>> variantsFor(Collection<String> photoUrls) {
+        Map<String, String> urlByHash = new HashMap<>();
+        for (String url : photoUrls) {
+            MediaStorageService.nameOf(url).ifPresent(name -> urlByHash.put(MediaStorageService.hashOf(name), url));
+        }
+        Map<String, Map<Integer, String>> result = new HashMap<>();
+        if (urlByHash.isEmpty()) {
+            return result;
+        }
+        for (MediaVariant variant : mediaVariantRepository.findByHashInOrderByWidth(urlByHash.keySet())) {
+            result.computeIfAbsent(urlByHash.get(variant.getHash()), url -> new LinkedHashMap<>())
+                    .put(variant.getWidth(), MediaStorageService.URL_PREFIX + variant.getName());
+        }
+        return result;
+    }
+
+    /**
+     * Sets photoVariants on every summary whose avatar has been processed, with one lookup for all of them.
+     */
+    public void attachAvatarVariants(Collection<UserSummaryDTO> users) {
+        Map<String, Map<Integer, String>> variants = variantsFor(users.stream().map(UserSummaryDTO::getPhoto).toList());
+        if (variants.isEmpty()) {
+            return;
+        }
+        for (UserSummaryDTO user : users) {
+            user.setPhotoVariants(variants.get(user.getPhoto()));
+        }
+    }
+
+    private void process(String name) {
+        String hash = MediaStorageService.hashOf(name);
+        if (mediaVariantRepository.existsByHash(hash)) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            List<MediaVariant> variants = generate(name, hash);
+            mediaVariantRepository.saveAll(variants);
+            // Cached publication cards and their ETags are keyed by version: bump it so they pick up the variants,
+            // and drop the old cards on every node rather than leave them to the LRU
+            String url = MediaStorageService.URL_PREFIX + name;
+            publicationRepository.touchByPhoto(url);
+            publicationRepository.findIdsByPhoto(url).forEach(cacheInvalidator::publicationChanged);
+            // Cached user summaries were stored without the avatar variants
+            userRepository.findIdsByPhoto(url).forEach(cacheInvalidator::userChanged);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate thumbnails for {}", name, e);
+        } finally {
+            sample.stop(processingTimer);
+        }
+    }
+
+    private List<MediaVariant> generate(String name, String hash) throws IOException {
+        BufferedImage source = ImageIO.read(mediaStorageService.pathOf(name).toFile());
+        List<MediaVariant> variants = new ArrayList<>();
+        if (source == null) {
+            // No ImageIO reader for this format (WebP): only the original is recorded, so it is not retried
+            variants.add(new MediaVariant(hash, 0, 0, name));
+            return variants;
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String extension = alpha ? "png" : "jpg";
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                break; // never upscale
+            }
+            int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+            String variantName = hash + "-" + width + "." + extension;
+            write(resize(source, width, height, alpha), extension, variantName);
+            variants.add(new MediaVariant(hash, width, height, variantName));
+        }
+        variants.add(new MediaVariant(hash, source.getWidth(), source.getHeight(), name));
+        return variants;
+    }
+
+    private void write(BufferedImage image, String extension, String variantName) throws IOException {
+        Path target = mediaStorageService.pathOf(variantName);
+        if (Files.exists(target)) {
+            return;
+        }
+        Path temp = mediaStorageService.newTempFile();
+        try {
+            ImageIO.write(image, extension, temp.toFile());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Written by an earlier, interrupted run
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Halves the image until it is close to the target size, then does one bilinear pass.
+     * A single bilinear step from a large original skips most source pixels and looks jagged.
+     */
+    static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,13 +1,20 @@
 package com.c3.weebnet_backend.services;
 
+import com.c3.weebnet_backend.cache.CacheInvalidator;
+import com.c3.weebnet_backend.cache.SingleFlight;
+import com.c3.weebnet_backend.cache.UserBatchLoader;
 import com.c3.weebnet_backend.config.JwtUtil;
 import com.c3.weebnet_backend.dto.UserLoginDTO;
 import com.c3.weebnet_backend.dto.UserRegisterDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
 import com.c3.weebnet_backend.entities.User;
 import com.c3.weebnet_backend.exceptions.AgeRestrictionException;
 import com.c3.weebnet_backend.repositories.UserRepository;
+import com.c3.weebnet_backend.repositories.VersionView;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
@@ -15,19 +22,33 @@ import org.springframework.http.HttpStatus;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+// Every public method is timed as weebnet.service{class, method}
+@Timed(value = "weebnet.service", histogram = true)
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final CacheInvalidator cacheInvalidator;
+    private final ThumbnailService thumbnailService;
+    private final UserBatchLoader userBatchLoader;
+    private final SingleFlight<String, Optional<User>> usernameLoads;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                       CacheInvalidator cacheInvalidator, ThumbnailService thumbnailService,
+                       UserBatchLoader userBatchLoader, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.cacheInvalidator = cacheInvalidator;
+        this.thumbnailService = thumbnailService;
+        this.userBatchLoader = userBatchLoader;
+        this.usernameLoads = new SingleFlight<>("users.by-username", meterRegistry);
     }
 
     
@@ -53,8 +74,30 @@ public class UserService {
     }
 
     
+    // Concurrent lookups of one username (a popular profile whose cache entry just expired) share a single query.
+    // The returned User may be shared between requests: read it, never modify it.
     public Optional<User> getUserByUsername(String username) {
-        return userRepository.findByUsername(username); 
+        return usernameLoads.load(username, userRepository::findCachedByUsername);
+    }
+
+    
+    // Summaries in the order asked, duplicates and unknown ids dropped
+    public List<UserSummaryDTO> getSummaries(List<Integer> userIds) {
+        List<Integer> distinct = userIds.stream().distinct().toList();
+        Map<Integer, UserSummaryDTO> users = userBatchLoader.loadMany(distinct);
+        return distinct.stream().map(users::get).filter(Objects::nonNull).toList();
+    }
+
+    
+    public Optional<VersionView> getUserVersion(String username) {
+        return userRepository.findVersionByUsername(username);
+    }
+
+    
+    // Tokens carry either the username or the email as subject, depending on the endpoint that issued them
+    public User getAuthenticatedUser(String principalName) {
+        return userRepository.findCachedByUsernameOrEmail(principalName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
     }
 
     
@@ -115,6 +158,17 @@ public class UserService {
             user.setCellphone(cellphone);
         }
     
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        cacheInvalidator.userChanged(saved.getId());
+        if (photo != null && !photo.trim().isEmpty()) {
+            // Once the row is saved, so the worker finds the user when it drops the cached summary
+            thumbnailService.submitUrl(photo);
+        }
+        return saved;
+    }
+
+
+    public static UserSummaryDTO toSummary(User user) {
+        return new UserSummaryDTO(user.getId(), user.getUsername(), user.getFullname(), user.getPhoto());
     }
 }
@@ -40,17 +40,26 @@ CREATE TABLE follows (
     FOREIGN KEY (id_following) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Monthly range partitions on created_at (notifications_YYYY_MM), created ahead of time and dropped or
+-- archived once expired by NotificationPartitionMaintainer. The primary key must include the partition key.
 CREATE TABLE notifications (
-    id SERIAL PRIMARY KEY,
+    id SERIAL,
     type INT NOT NULL,
     content TEXT NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     id_giver INT NOT NULL,
     id_receiver INT NOT NULL,
+    PRIMARY KEY (id, created_at),
     FOREIGN KEY (type) REFERENCES type_interactions(id),
     FOREIGN KEY (id_giver) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (id_receiver) REFERENCES users(id) ON DELETE CASCADE
-);
+) PARTITION BY RANGE (created_at);
+
+-- Only receives rows if the monthly partitions were not created in time; the maintainer warns when it is not empty
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- Expired partitions are moved here when weebnet.notifications.partitions.expired=archive
+CREATE SCHEMA IF NOT EXISTS notifications_archive;
 
 CREATE TABLE likes (
     id SERIAL PRIMARY KEY,
@@ -124,4 +133,222 @@ INSERT INTO type_interactions (type) VALUES
 ALTER TABLE users
 ALTER COLUMN password SET DATA TYPE varchar(60);
 
+-- Full-text search over publications: the generated column keeps the tsvector in sync with text
+ALTER TABLE publications
+ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', text)) STORED;
+
+CREATE INDEX idx_publications_search_vector ON publications USING GIN (search_vector);
+
+CREATE INDEX idx_publication_tags_tag ON publication_tags (lower(tag), id_publication);
+CREATE INDEX idx_publication_tags_publication ON publication_tags (id_publication);
+
+-- Row versions for conditional GETs (ETag / Last-Modified)
+ALTER TABLE users
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE publications
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Lets the version check by username run as an index-only scan
+CREATE INDEX idx_users_username_version ON users (username) INCLUDE (id, version, updated_at);
+
+-- Feed and notification listings, newest first
+CREATE INDEX idx_publications_user_id ON publications (id_user, id DESC);
+CREATE INDEX idx_notifications_receiver_id ON notifications (id_receiver, id DESC);
+
+-- Resized copies of uploaded images (written by ThumbnailService); the original is recorded too
+CREATE TABLE media_variants (
+    id SERIAL PRIMARY KEY,
+    hash VARCHAR(64) NOT NULL,
+    width INT NOT NULL,
+    height INT NOT NULL,
+    name VARCHAR(80) NOT NULL,
+    UNIQUE (hash, width)
+);
+
+-- Publications using a photo get their version bumped once its thumbnails exist
+CREATE INDEX idx_publications_photo ON publications (photo);
+-- Users with that photo get their cached summary dropped at the same time
+CREATE INDEX idx_users_photo ON users (photo);
+
+-- Analytics events, bulk-loaded from the interaction journal; ids are not foreign keys so deletes never block a load
+INSERT INTO type_interactions (type) VALUES
+('view'),
+('share');
+
+CREATE TABLE interactions (
+    id BIGSERIAL PRIMARY KEY,
+    type INT NOT NULL,
+    id_user INT NOT NULL,
+    id_publication INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (type) REFERENCES type_interactions(id)
+);
+
+CREATE INDEX idx_interactions_publication ON interactions (id_publication, created_at);
+
+-- Journal segments already loaded, so a segment is never loaded twice
+CREATE TABLE interaction_segments (
+    name VARCHAR(64) PRIMARY KEY,
+    records INT NOT NULL,
+    loaded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Hourly view counts and HyperLogLog sketches of the viewers (see ViewStatsStore)
+CREATE TABLE publication_view_stats (
+    id_publication INT NOT NULL,
+    bucket TIMESTAMP NOT NULL,
+    views BIGINT NOT NULL,
+    viewers BYTEA NOT NULL,
+    PRIMARY KEY (id_publication, bucket)
+);
+
+CREATE INDEX idx_likes_publication_created ON likes (id_publication, created_at);
+CREATE INDEX idx_comments_publication_created ON comments (id_publication, created_at);
+
+-- Follower counts and mutual followers of a profile (the unique constraint covers the follower side)
+CREATE INDEX idx_follows_following ON follows (id_following, id_follower);
+
+-- Cold storage for publications older than weebnet.archive.max-age-days (moved by PublicationArchiver).
+-- One row per publication: tags, likes and comments are folded into arrays instead of rows with their own
+-- indexes, and nothing is ever updated, so pages are packed full
+CREATE TABLE publications_archive (
+    id INT PRIMARY KEY,
+    text VARCHAR(500) NOT NULL,
+    photo VARCHAR(255),
+    id_user INT NOT NULL,
+    created_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    tags VARCHAR(50)[] NOT NULL,
+    -- Parallel arrays ordered by like id
+    like_ids INT[] NOT NULL,
+    like_users INT[] NOT NULL,
+    like_created_at TIMESTAMP[] NOT NULL,
+    -- [{"id", "id_user", "text", "created_at"}] ordered by comment id
+    comments JSONB NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (id_user) REFERENCES users(id) ON DELETE CASCADE
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_publications_archive_user ON publications_archive (id_user, id DESC);
+
+-- Change log behind GET /api/sync, written by the triggers below. Rows carry the id of the transaction that wrote
+-- them: a sync returns the rows of transactions below the current snapshot's xmin, all of which have finished, and
+-- that xmin is the next cursor. Ids would not do, since a lower id can still commit after a higher one is read.
+-- kind: n = notification (subject = receiver), p = publication (subject = author), u = profile change,
+--       f = follower count of subject, g = following count of subject, l = likes on a publication of subject
+CREATE TABLE change_log (
+    id BIGSERIAL PRIMARY KEY,
+    txid BIGINT NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint),
+    kind CHAR(1) NOT NULL,
+    subject INT NOT NULL,
+    entity INT NOT NULL,
+    delta SMALLINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_change_log_subject ON change_log (subject, txid);
+
+-- Highest transaction id pruned by ChangeLogPruner: older cursors can no longer be served incrementally
+CREATE TABLE change_log_horizon (
+    pruned_through BIGINT NOT NULL
+);
+
+INSERT INTO change_log_horizon (pruned_through) VALUES (0);
+
+-- Statement-level triggers with transition tables: a batch insert logs all its rows with one INSERT ... SELECT
+CREATE OR REPLACE FUNCTION log_notification_changes()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_log (kind, subject, entity)
+    SELECT 'n', id_receiver, id FROM changed;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Also recreated by db/notifications_partitioning.sql, whose new notifications table would otherwise lack it
+CREATE TRIGGER trg_change_log_notifications
+AFTER INSERT ON notifications
+REFERENCING NEW TABLE AS changed
+FOR EACH STATEMENT EXECUTE FUNCTION log_notification_changes();
+
+CREATE OR REPLACE FUNCTION log_publication_changes()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_log (kind, subject, entity)
+    SELECT 'p', id_user, id FROM changed;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_change_log_publications
+AFTER INSERT ON publications
+REFERENCING NEW TABLE AS changed
+FOR EACH STATEMENT EXECUTE FUNCTION log_publication_changes();
+
+CREATE OR REPLACE FUNCTION log_profile_changes()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO change_log (kind, subject, entity)
+    SELECT 'u', n.id, n.id
+    FROM new_rows n JOIN old_rows o ON o.id = n.id
+    WHERE (n.username, n.fullname, n.photo, n.bio) IS DISTINCT FROM (o.username, o.fullname, o.photo, o.bio);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_change_log_users
+AFTER UPDATE ON users
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT EXECUTE FUNCTION log_profile_changes();
+
+CREATE OR REPLACE FUNCTION log_follow_changes()
+RETURNS TRIGGER AS $$
+DECLARE
+    step SMALLINT := CASE TG_OP WHEN 'INSERT' THEN 1 ELSE -1 END;
+BEGIN
+    INSERT INTO change_log (kind, subject, entity, delta)
+    SELECT 'f', id_following, id_follower, step FROM changed
+    UNION ALL
+    SELECT 'g', id_follower, id_following, step FROM changed;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_change_log_follows_insert
+AFTER INSERT ON follows
+REFERENCING NEW TABLE AS changed
+FOR EACH STATEMENT EXECUTE FUNCTION log_follow_changes();
+
+CREATE TRIGGER trg_change_log_follows_delete
+AFTER DELETE ON follows
+REFERENCING OLD TABLE AS changed
+FOR EACH STATEMENT EXECUTE FUNCTION log_follow_changes();
+
+-- Likes removed along with an archived or deleted publication find no author and are not logged
+CREATE OR REPLACE FUNCTION log_like_changes()
+RETURNS TRIGGER AS $$
+DECLARE
+    step SMALLINT := CASE TG_OP WHEN 'INSERT' THEN 1 ELSE -1 END;
+BEGIN
+    INSERT INTO change_log (kind, subject, entity, delta)
+    SELECT 'l', p.id_user, c.id_publication, step
+    FROM changed c JOIN publications p ON p.id = c.id_publication;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_change_log_likes_insert
+AFTER INSERT ON likes
+REFERENCING NEW TABLE AS changed
+FOR EACH STATEMENT EXECUTE FUNCTION log_like_changes();
+
+CREATE TRIGGER trg_change_log_likes_delete
+AFTER DELETE ON likes
+REFERENCING OLD TABLE AS changed
+FOR EACH STATEMENT EXECUTE FUNCTION log_like_changes();
+
 select * from users;
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.c3.weebnet_backend.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTests {
+
+    @Test
+    void estimatesDistinctViewersWithinErrorBounds() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 3; round++) {
+            for (int userId = 1; userId <= 50_000; userId++) {
+                sketch.add(userId);
+            }
+        }
+        assertWithin(50_000, sketch.estimate(), 0.05);
+    }
+
+    @Test
+    void mergingBucketsEqualsCountingTheUnion() {
+        HyperLogLog morning = new HyperLogLog();
+        HyperLogLog evening = new HyperLogLog();
+        for (int userId = 1; userId <= 20_000; userId++) {
+            morning.add(userId);
+        }
+        for (int userId = 10_001; userId <= 30_000; userId++) {
+            evening.add(userId);
+        }
+        morning.merge(evening);
+        assertWithin(30_000, morning.estimate(), 0.05);
+    }
+
+    @Test
+    void roundTripsSparseAndDenseEncodings() {
+        HyperLogLog small = new HyperLogLog();
+        for (int userId = 1; userId <= 40; userId++) {
+            small.add(userId);
+        }
+        byte[] sparse = small.toBytes();
+        assertTrue(sparse.length < 200, "few viewers should serialize sparsely");
+        assertEquals(small.estimate(), HyperLogLog.fromBytes(sparse).estimate());
+
+        HyperLogLog large = new HyperLogLog();
+        for (int userId = 1; userId <= 100_000; userId++) {
+            large.add(userId);
+        }
+        assertEquals(large.estimate(), HyperLogLog.fromBytes(large.toBytes()).estimate());
+    }
+
+    private static void assertWithin(long expected, long actual, double tolerance) {
+        assertTrue(Math.abs(actual - expected) <= expected * tolerance,
+                "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,100 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.WeebnetBackendApplication;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import com.c3.weebnet_backend.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application contexts against the same database stand in for two nodes behind the load balancer.
+ */
+class InvalidationBusTests {
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private User user;
+
+    @BeforeEach
+    void startNodes(@TempDir Path journals) {
+        nodeA = node(journals.resolve("a"));
+        nodeB = node(journals.resolve("b"));
+        awaitTrue(() -> nodeA.getBean(InvalidationBus.class).isListening()
+                && nodeB.getBean(InvalidationBus.class).isListening());
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = nodeA.getBean(UserRepository.class).save(new User("ib" + run, "Invalidation Bus", "3000000000",
+                "ib" + run + "@weebnet.test", LocalDate.of(2000, 1, 1), "password"));
+        nodeB.getBean(UserProfileCache.class).putAll(List.of(UserService.toSummary(user)));
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (user != null) {
+            nodeA.getBean(UserRepository.class).deleteById(user.getId());
+        }
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void profileUpdateOnOneNodeInvalidatesTheOther() {
+        UserProfileCache cacheB = nodeB.getBean(UserProfileCache.class);
+        assertEquals(1, cacheB.getAll(List.of(user.getId())).size());
+
+        nodeA.getBean(UserService.class).updateUserProfile(user.getId(), "Updated on node A", null, null);
+
+        awaitTrue(() -> cacheB.getAll(List.of(user.getId())).isEmpty());
+    }
+
+    @Test
+    void listenerFlushesLocalCachesAfterReconnecting() {
+        InvalidationBus busB = nodeB.getBean(InvalidationBus.class);
+        nodeA.getBean(JdbcTemplate.class).queryForList(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                busB.getApplicationName());
+
+        // Nothing was published, but whatever was sent during the gap is lost: the cache must not be trusted
+        awaitTrue(() -> nodeB.getBean(UserProfileCache.class).getAll(List.of(user.getId())).isEmpty());
+        awaitTrue(busB::isListening);
+    }
+
+    private static ConfigurableApplicationContext node(Path journal) {
+        return new SpringApplicationBuilder(WeebnetBackendApplication.class)
+                .properties("server.port=0",
+                        "management.server.port=0",
+                        "weebnet.journal.dir=" + journal,
+                        "weebnet.jfr.enabled=false",
+                        "weebnet.cache.invalidation.reconnect-delay-ms=100",
+                        "weebnet.cache.invalidation.poll-ms=50")
+                .run();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10 s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
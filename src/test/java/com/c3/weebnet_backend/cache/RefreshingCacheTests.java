@@ -0,0 +1,89 @@
+package com.c3.weebnet_backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RefreshingCacheTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> singleFlight.load("celebrity", key -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            // Let every caller reach the in-flight load before it completes
+            while (meterRegistry.counter("weebnet.cache.loads", "cache", "test", "result", "coalesced").count() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlight());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredEntryIsServedStaleWhileOneReloadRuns() throws Exception {
+        ExecutorService refresher = Executors.newSingleThreadExecutor();
+        try {
+            RefreshingCache<Integer, Integer> cache = new RefreshingCache<>("test", Duration.ZERO, Duration.ofMinutes(1),
+                    0, 10, refresher, meterRegistry);
+            AtomicInteger version = new AtomicInteger();
+            assertEquals(1, cache.get(7, key -> version.incrementAndGet()));
+
+            // Already expired (zero TTL), still within the grace: the old value comes back and a reload starts
+            assertEquals(1, cache.get(7, key -> version.incrementAndGet()));
+            refresher.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            assertEquals(2, version.get());
+            assertEquals(2, cache.get(7, key -> version.incrementAndGet()));
+        } finally {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidatedEntryIsLoadedAgain() {
+        RefreshingCache<Integer, Integer> cache = new RefreshingCache<>("test", Duration.ofMinutes(1), Duration.ZERO,
+                0, 10, Runnable::run, meterRegistry);
+        AtomicInteger version = new AtomicInteger();
+        assertEquals(1, cache.get(7, key -> version.incrementAndGet()));
+        assertEquals(1, cache.get(7, key -> version.incrementAndGet()));
+        cache.invalidate(7);
+        assertEquals(2, cache.get(7, key -> version.incrementAndGet()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
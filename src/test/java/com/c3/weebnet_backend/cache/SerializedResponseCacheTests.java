@@ -0,0 +1,74 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.cache.SerializedResponseCache.CachedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerializedResponseCacheTests {
+
+    @Test
+    void servesCachedJsonOnlyToClientsPreferringJson() {
+        assertTrue(SerializedResponseCache.acceptsJson(accepting(null)));
+        assertTrue(SerializedResponseCache.acceptsJson(accepting("*/*")));
+        assertTrue(SerializedResponseCache.acceptsJson(accepting("text/html,application/xhtml+xml,*/*;q=0.8")));
+        assertTrue(SerializedResponseCache.acceptsJson(accepting("application/cbor;q=0.5, application/json")));
+        assertFalse(SerializedResponseCache.acceptsJson(accepting("application/cbor")));
+        assertFalse(SerializedResponseCache.acceptsJson(accepting("application/x-jackson-smile, */*;q=0.1")));
+    }
+
+    @Test
+    void buildsTheResponseFromTheCachedBytes() throws Exception {
+        SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1 << 20, 16);
+        CachedResponse cached = cache.put(SerializedResponseCache.USER_CARD, 1, 3, Map.of("username", "naruto_fan"));
+
+        ResponseEntity<byte[]> plain = cache.toResponse(cached, accepting(null), ResponseEntity.ok().eTag("\"user-1-3\""));
+        assertEquals(MediaType.APPLICATION_JSON, plain.getHeaders().getContentType());
+        assertEquals("\"user-1-3\"", plain.getHeaders().getETag());
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals("{\"username\":\"naruto_fan\"}".getBytes(), plain.getBody());
+
+        MockHttpServletRequest gzipRequest = accepting(null);
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, br");
+        ResponseEntity<byte[]> gzipped = cache.toResponse(cached, gzipRequest, ResponseEntity.ok());
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(gzipped.getBody().length, gzipped.getHeaders().getContentLength());
+    }
+
+    @Test
+    void missesOnceTheEmbeddedRowChanges() throws Exception {
+        SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(), 1 << 20, 1024);
+        cache.put(SerializedResponseCache.PUBLICATION_CARD, 7, 2, 5, Map.of("author", "naruto_fan"));
+
+        assertNotNull(cache.get(SerializedResponseCache.PUBLICATION_CARD, 7, 2, 5));
+        // The author was saved: same publication version, newer author version
+        assertNull(cache.get(SerializedResponseCache.PUBLICATION_CARD, 7, 2, 6));
+        assertNull(cache.get(SerializedResponseCache.PUBLICATION_CARD, 7, 3, 5));
+
+        CachedResponse rebuilt = cache.put(SerializedResponseCache.PUBLICATION_CARD, 7, 2, 6, Map.of("author", "sasuke_fan"));
+        assertEquals(6, rebuilt.getEmbeddedVersion());
+        assertArrayEquals("{\"author\":\"sasuke_fan\"}".getBytes(),
+                cache.toResponse(cache.get(SerializedResponseCache.PUBLICATION_CARD, 7, 2, 6), accepting(null),
+                        ResponseEntity.ok()).getBody());
+    }
+
+    private static MockHttpServletRequest accepting(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/naruto_fan");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,34 @@
+package com.c3.weebnet_backend.cache;
+
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserProfileCacheTests {
+
+    @Test
+    void evictsLeastRecentlyReadEntriesWhenFull() {
+        UserProfileCache cache = new UserProfileCache(300, 100);
+        cache.putAll(users(1, 100));
+        // Keep the first half hot
+        assertEquals(50, cache.getAll(IntStream.rangeClosed(1, 50).boxed().toList()).size());
+
+        cache.putAll(users(101, 120));
+
+        assertEquals(50, cache.getAll(IntStream.rangeClosed(1, 50).boxed().toList()).size());
+        assertEquals(20, cache.getAll(IntStream.rangeClosed(101, 120).boxed().toList()).size());
+        int coldLeft = cache.getAll(IntStream.rangeClosed(51, 100).boxed().toList()).size();
+        assertTrue(coldLeft <= 30, "cold entries should make room, " + coldLeft + " left");
+    }
+
+    private static List<UserSummaryDTO> users(int from, int to) {
+        return IntStream.rangeClosed(from, to)
+                .mapToObj(id -> new UserSummaryDTO(id, "user" + id, "User " + id, null))
+                .toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.c3.weebnet_backend.config;
+
+import com.c3.weebnet_backend.config.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now = System.nanoTime();
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        windows(limiter, 30, RTT_NANOS, 50);
+        double grown = limiter.getLimit();
+        assertTrue(grown > 60, "limit should grow at steady latency, was " + grown);
+
+        windows(limiter, 30, 4 * RTT_NANOS, (int) grown);
+        assertTrue(limiter.getLimit() < grown / 2, "limit should shrink when latency climbs, was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 10);
+    }
+
+    @Test
+    void doesNotGrowWhenMostOfTheLimitIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        windows(limiter, 30, RTT_NANOS, 5);
+        assertEquals(50, limiter.getLimit(), 0.0);
+    }
+
+    @Test
+    void shedsLowPriorityFirst() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(limiter.tryAcquire(Priority.LOW));
+        }
+        assertFalse(limiter.tryAcquire(Priority.LOW));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(Priority.NORMAL));
+        assertTrue(limiter.tryAcquire(Priority.HIGH));
+        assertTrue(limiter.tryAcquire(Priority.HIGH));
+        assertFalse(limiter.tryAcquire(Priority.HIGH));
+
+        assertEquals(12, limiter.getInflight());
+        assertEquals(1.0, meterRegistry.get("weebnet.limiter.rejections").tag("priority", "low").counter().count());
+        limiter.release(System.nanoTime(), false);
+        assertEquals(11, limiter.getInflight());
+    }
+
+    @Test
+    void shedResponseCanBeReadByTheFrontend() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        while (limiter.tryAcquire(Priority.LOW)) {
+            // fill the low priority share
+        }
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:5173"));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(limiter, source, 1);
+
+        MockHttpServletResponse allowed = shed(filter, "http://localhost:5173");
+        assertEquals(503, allowed.getStatus());
+        assertEquals("1", allowed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("http://localhost:5173", allowed.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("true", allowed.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+        assertEquals(HttpHeaders.ORIGIN, allowed.getHeader(HttpHeaders.VARY));
+
+        MockHttpServletResponse other = shed(filter, "http://evil.example");
+        assertEquals(503, other.getStatus());
+        assertNull(other.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    private static MockHttpServletResponse shed(AdaptiveConcurrencyLimitFilter filter, String origin) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/publications");
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, initialLimit, 10, 400, 1.5, 0.2, 100, 10,
+                Map.of(Priority.HIGH, 1.25, Priority.NORMAL, 1.0, Priority.LOW, 0.7));
+    }
+
+    private void windows(AdaptiveConcurrencyLimiter limiter, int count, long rttNanos, int inflight) {
+        for (int window = 0; window < count; window++) {
+            now += WINDOW_NANOS;
+            for (int i = 0; i < 10; i++) {
+                limiter.onSample(rttNanos, inflight, now);
+            }
+        }
+    }
+}
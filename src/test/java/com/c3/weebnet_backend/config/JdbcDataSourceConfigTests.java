@@ -0,0 +1,55 @@
+package com.c3.weebnet_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The JDBC and R2DBC pools must coexist: with spring.r2dbc.url set, Boot alone creates only the R2DBC one.
+ * Neither pool connects on creation, so no database is needed.
+ */
+class JdbcDataSourceConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(R2dbcAutoConfiguration.class, DataSourceAutoConfiguration.class,
+                    JdbcTemplateAutoConfiguration.class))
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://localhost:5432/weebnet",
+                    "spring.datasource.username=postgres",
+                    "spring.datasource.password=secret",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.r2dbc.url=r2dbc:postgresql://localhost:5432/weebnet",
+                    "spring.r2dbc.username=postgres",
+                    "spring.r2dbc.password=secret");
+
+    @Test
+    void autoConfigurationAloneLeavesNoDataSourceNextToR2dbc() {
+        contextRunner.run(context -> assertThat(context)
+                .hasSingleBean(ConnectionFactory.class)
+                .doesNotHaveBean(DataSource.class));
+    }
+
+    @Test
+    void jdbcPoolIsDeclaredNextToR2dbc() {
+        contextRunner.withUserConfiguration(JdbcDataSourceConfig.class).run(context -> {
+            assertThat(context).hasNotFailed()
+                    .hasSingleBean(ConnectionFactory.class)
+                    .hasSingleBean(DataSource.class)
+                    .hasSingleBean(JdbcTemplate.class);
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+            assertThat(dataSource.getJdbcUrl()).isEqualTo("jdbc:postgresql://localhost:5432/weebnet");
+            assertThat(dataSource.getUsername()).isEqualTo("postgres");
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(7);
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.c3.weebnet_backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlShapesTests {
+
+    @Test
+    void statementsDifferingOnlyInParametersShareAShape() {
+        assertEquals(SqlShapes.shapeOf("SELECT * FROM users WHERE id = 42"),
+                SqlShapes.shapeOf("select *  from users\n where id = 7"));
+        assertEquals(SqlShapes.shapeOf("SELECT * FROM users WHERE username = 'ana'"),
+                SqlShapes.shapeOf("SELECT * FROM users WHERE username = 'o''brien'"));
+    }
+
+    @Test
+    void inListsAndMultiRowInsertsCollapse() {
+        assertEquals("select u1_0.id from users u1_0 where u1_0.id in (?)",
+                SqlShapes.shapeOf("select u1_0.id from users u1_0 where u1_0.id in (?, ?, ?)"));
+        assertEquals("insert into likes (id_publication, id_user) values (?, ?)",
+                SqlShapes.shapeOf("insert into likes (id_publication, id_user) values (1, 2), (3, 4), (5, 6)"));
+    }
+
+    @Test
+    void identifiersWithDigitsAreKept() {
+        assertEquals("select p1_0.text from publications p1_0 where p1_0.id=?",
+                SqlShapes.shapeOf("select p1_0.text from publications p1_0 where p1_0.id=?"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.MediaDTO;
+import com.c3.weebnet_backend.dto.PublicationCreateDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.PublicationRepository;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import com.c3.weebnet_backend.services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * An uploaded image stored as a publication photo or an avatar must come back with its resized copies
+ * once the background worker has written them, without the client doing anything but reading again.
+ */
+@SpringBootTest(properties = "weebnet.media.root=target/test-media")
+@AutoConfigureMockMvc
+class MediaVariantsTests {
+
+    private static final int WIDTH = 800;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PublicationRepository publicationRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+    private MediaDTO media;
+    private Integer publicationId;
+
+    @BeforeEach
+    void upload() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(new User("mv" + run, "Media Variants", "3000000000",
+                "mv" + run + "@weebnet.test", LocalDate.of(2000, 1, 1), "password"));
+
+        // A fresh image per run, so its hash has never been processed
+        MockMultipartFile file = new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, png(run.hashCode()));
+        String body = mockMvc.perform(multipart("/api/media").file(file).with(user(author.getUsername())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        media = objectMapper.readValue(body, MediaDTO.class);
+        assertTrue(media.getUrl().startsWith("/api/media/"), "Unexpected upload URL " + media.getUrl());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (publicationId != null) {
+            publicationRepository.deleteById(publicationId);
+        }
+        userRepository.deleteById(author.getId());
+        jdbcTemplate.update("DELETE FROM media_variants WHERE hash = ?", media.getHash());
+    }
+
+    @Test
+    void publicationWithUploadedPhotoGetsVariants() throws Exception {
+        String request = objectMapper.writeValueAsString(new PublicationCreateDTO("with a photo", media.getUrl(), null));
+        String created = mockMvc.perform(post("/api/publications").with(user(author.getUsername()))
+                        .contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        publicationId = objectMapper.readValue(created, PublicationDTO.class).getId();
+
+        awaitTrue(() -> hasResizedCopies(read("/api/publications/" + publicationId, PublicationDTO.class).getPhotoVariants()));
+    }
+
+    @Test
+    void avatarFromUploadGetsVariants() {
+        userService.updateUserProfile(author.getId(), null, media.getUrl(), null);
+
+        awaitTrue(() -> hasResizedCopies(read("/api/users?ids=" + author.getId(), UserSummaryDTO[].class)[0].getPhotoVariants()));
+    }
+
+    private boolean hasResizedCopies(Map<Integer, String> variants) {
+        if (variants == null) {
+            return false;
+        }
+        assertEquals(media.getUrl(), variants.get(WIDTH));
+        return variants.containsKey(160) && variants.containsKey(480);
+    }
+
+    private <T> T read(String url, Class<T> type) {
+        try {
+            String body = mockMvc.perform(get(url).with(user(author.getUsername())))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readValue(body, type);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] png(int seed) throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(new Color(seed));
+            graphics.fillRect(0, 0, WIDTH, 600);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10 s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
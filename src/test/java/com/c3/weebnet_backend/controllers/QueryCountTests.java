@@ -0,0 +1,160 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.cache.UserProfileCache;
+import com.c3.weebnet_backend.entities.Comment;
+import com.c3.weebnet_backend.entities.Like;
+import com.c3.weebnet_backend.entities.Publication;
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.CommentRepository;
+import com.c3.weebnet_backend.repositories.LikeRepository;
+import com.c3.weebnet_backend.repositories.PublicationRepository;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import com.c3.weebnet_backend.services.NotifcationService;
+import com.c3.weebnet_backend.services.NotifcationService.NotificationDraft;
+import com.c3.weebnet_backend.services.UserService;
+import com.c3.weebnet_backend.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 queries: listing a page of N items must cost a constant number of statements,
+ * whatever N is and whoever the authors are.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.c3.weebnet_backend.support.SqlStatementCounter",
+        // The JDBC-level monitor enforces the same budget, failing the request itself if it is exceeded
+        "weebnet.sql.statement-budget=" + QueryCountTests.MAX_STATEMENTS_PER_PAGE,
+        "weebnet.sql.fail-on-budget=true"})
+@AutoConfigureMockMvc
+class QueryCountTests {
+
+    private static final int AUTHORS = 12;
+    static final int MAX_STATEMENTS_PER_PAGE = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PublicationRepository publicationRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private LikeRepository likeRepository;
+    @Autowired
+    private NotifcationService notificationService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserProfileCache userProfileCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Publication publication;
+
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < AUTHORS; i++) {
+            users.add(userRepository.save(new User("qc" + run + i, "Query Count " + i, "3000000000",
+                    "qc" + run + i + "@weebnet.test", LocalDate.of(2000, 1, 1), "password")));
+        }
+        User owner = users.get(0);
+        publication = publicationRepository.save(new Publication("query count " + run, null, owner));
+
+        jdbcTemplate.update("INSERT INTO type_interactions (type) SELECT ? WHERE NOT EXISTS " +
+                "(SELECT 1 FROM type_interactions WHERE type = ?)", TypeInteraction.MENTION, TypeInteraction.MENTION);
+        List<NotificationDraft> drafts = new ArrayList<>();
+        for (User author : users) {
+            commentRepository.save(new Comment("comment by " + author.getUsername(), publication, author));
+            likeRepository.save(new Like(publication, author));
+            drafts.add(new NotificationDraft(author.getId(), owner.getId(), "mentioned you"));
+        }
+        notificationService.createAll(TypeInteraction.MENTION, drafts);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (User seeded : users) {
+            jdbcTemplate.update("DELETE FROM notifications WHERE id_giver = ? OR id_receiver = ?", seeded.getId(), seeded.getId());
+        }
+        jdbcTemplate.update("DELETE FROM likes WHERE id_publication = ?", publication.getId());
+        jdbcTemplate.update("DELETE FROM comments WHERE id_publication = ?", publication.getId());
+        publicationRepository.deleteById(publication.getId());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void commentsPageIssuesConstantStatements() throws Exception {
+        assertConstantStatements("/api/publications/" + publication.getId() + "/comments");
+    }
+
+    @Test
+    void likesPageIssuesConstantStatements() throws Exception {
+        assertConstantStatements("/api/publications/" + publication.getId() + "/likes");
+    }
+
+    @Test
+    void notificationsPageIssuesConstantStatements() throws Exception {
+        assertConstantStatements("/api/notifications");
+    }
+
+    @Test
+    void publicationCardFollowsItsAuthor() throws Exception {
+        String url = "/api/publications/" + publication.getId();
+        User owner = users.get(0);
+        MvcResult before = mockMvc.perform(get(url).with(user(owner.getUsername()))).andExpect(status().isOk()).andReturn();
+        String etag = before.getResponse().getHeader(HttpHeaders.ETAG);
+        // Served from the cached card this time
+        mockMvc.perform(get(url).with(user(owner.getUsername()))).andExpect(status().isOk());
+
+        String photo = "https://weebnet.test/" + owner.getUsername() + ".png";
+        userService.updateUserProfile(owner.getId(), null, photo, null);
+
+        MvcResult after = mockMvc.perform(get(url).with(user(owner.getUsername()))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn();
+        assertNotEquals(etag, after.getResponse().getHeader(HttpHeaders.ETAG));
+        assertFalse(before.getResponse().getContentAsString().contains(photo));
+        assertTrue(after.getResponse().getContentAsString().contains(photo));
+    }
+
+    private void assertConstantStatements(String path) throws Exception {
+        int small = countStatements(path + "?size=2");
+        int large = countStatements(path + "?size=" + AUTHORS);
+
+        assertTrue(large <= MAX_STATEMENTS_PER_PAGE,
+                path + " issued " + large + " statements for " + AUTHORS + " items (budget " + MAX_STATEMENTS_PER_PAGE + ")");
+        assertTrue(large == small, path + " issued " + small + " statements for 2 items but " + large + " for " + AUTHORS);
+    }
+
+    private int countStatements(String url) throws Exception {
+        // A cold profile cache is the worst case: every author must come from the database
+        userProfileCache.invalidateAll();
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(url).with(user(users.get(0).getUsername()))).andExpect(status().isOk());
+        return SqlStatementCounter.count();
+    }
+}
@@ -0,0 +1,222 @@
+package com.c3.weebnet_backend.controllers;
+
+import com.c3.weebnet_backend.dto.NotificationDTO;
+import com.c3.weebnet_backend.dto.SyncDTO;
+import com.c3.weebnet_backend.entities.Like;
+import com.c3.weebnet_backend.entities.Publication;
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.ChangeLogRepository;
+import com.c3.weebnet_backend.repositories.LikeRepository;
+import com.c3.weebnet_backend.repositories.PublicationArchiveRepository;
+import com.c3.weebnet_backend.repositories.PublicationRepository;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/sync against the real change_log triggers. A client resumes from its cursor and must see every change
+ * exactly once, including changes of transactions that commit after later ones were already served.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SyncTests {
+
+    private static final String NOTIFY = "INSERT INTO notifications (type, content, id_giver, id_receiver) " +
+            "SELECT id, ?, ?, ? FROM type_interactions WHERE type = '" + TypeInteraction.MENTION + "'";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PublicationRepository publicationRepository;
+    @Autowired
+    private LikeRepository likeRepository;
+    @Autowired
+    private PublicationArchiveRepository archiveRepository;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    private User alice;
+    private User bob;
+    private final List<Integer> archived = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        alice = userRepository.save(new User("sa" + run, "Sync Alice", "3000000000",
+                "sa" + run + "@weebnet.test", LocalDate.of(2000, 1, 1), "password"));
+        bob = userRepository.save(new User("sb" + run, "Sync Bob", "3000000000",
+                "sb" + run + "@weebnet.test", LocalDate.of(2000, 1, 1), "password"));
+        jdbcTemplate.update("INSERT INTO type_interactions (type) SELECT ? WHERE NOT EXISTS " +
+                "(SELECT 1 FROM type_interactions WHERE type = ?)", TypeInteraction.MENTION, TypeInteraction.MENTION);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Integer id : archived) {
+            jdbcTemplate.update("DELETE FROM publications_archive WHERE id = ?", id);
+        }
+        // Cascades to their follows, publications, likes and notifications
+        userRepository.deleteById(alice.getId());
+        userRepository.deleteById(bob.getId());
+    }
+
+    @Test
+    void changeCommittedLateByAnOlderTransactionIsStillReturned() throws Exception {
+        String cursor = freshCursor(alice);
+
+        try (Connection late = dataSource.getConnection()) {
+            late.setAutoCommit(false);
+            try (PreparedStatement insert = late.prepareStatement(NOTIFY)) {
+                insert.setString(1, "late");
+                insert.setInt(2, bob.getId());
+                insert.setInt(3, alice.getId());
+                assertEquals(1, insert.executeUpdate());
+            }
+            // A younger transaction commits first: the cursor must not move past the older one still open
+            jdbcTemplate.update(NOTIFY, "early", bob.getId(), alice.getId());
+            SyncDTO whileOpen = sync(alice, cursor);
+            assertNull(whileOpen.getReset());
+            assertFalse(contents(whileOpen).contains("late"));
+            assertFalse(contents(whileOpen).contains("early"));
+            cursor = whileOpen.getCursor();
+            late.commit();
+        }
+
+        SyncDTO changes = syncUntil(alice, cursor, sync -> contents(sync).containsAll(List.of("early", "late")));
+        assertEquals(List.of("early", "late"), contents(changes).stream().sorted().toList());
+    }
+
+    @Test
+    void cursorBehindThePrunedLogIsReset() throws Exception {
+        String cursor = freshCursor(alice);
+        jdbcTemplate.update(NOTIFY, "pruned", bob.getId(), alice.getId());
+
+        LocalDateTime cutoff = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP + interval '1 second'", LocalDateTime.class);
+        while (changeLogRepository.pruneBatch(cutoff, 5000) > 0) {
+            // keep pruning until everything before the cutoff is gone
+        }
+
+        SyncDTO sync = sync(alice, cursor);
+        assertEquals(Boolean.TRUE, sync.getReset());
+        assertNotNull(sync.getCursor());
+        assertTrue(sync.getNotifications().isEmpty());
+    }
+
+    @Test
+    void triggersLogFollowsProfilesPublicationsAndLikes() throws Exception {
+        String aliceCursor = freshCursor(alice);
+        String bobCursor = freshCursor(bob);
+        Publication alicePublication = publicationRepository.save(new Publication("liked by bob", null, alice));
+
+        jdbcTemplate.update("INSERT INTO follows (id_follower, id_following) VALUES (?, ?)", alice.getId(), bob.getId());
+        jdbcTemplate.update("UPDATE users SET fullname = 'Sync Bob Renamed' WHERE id = ?", bob.getId());
+        Publication bobPublication = publicationRepository.save(new Publication("new from bob", null, bob));
+        likeRepository.save(new Like(alicePublication, bob));
+
+        SyncDTO forAlice = syncUntil(alice, aliceCursor, sync -> sync.getCounters().containsKey("likes")
+                && sync.getCounters().containsKey("following")
+                && sync.getTimeline().stream().anyMatch(p -> p.getId() == bobPublication.getId())
+                && sync.getProfiles().stream().anyMatch(u -> u.getId() == bob.getId()));
+        assertEquals(1L, forAlice.getCounters().get("likes"));
+        assertEquals(1L, forAlice.getCounters().get("following"));
+
+        SyncDTO forBob = syncUntil(bob, bobCursor, sync -> sync.getCounters().containsKey("followers"));
+        assertEquals(1L, forBob.getCounters().get("followers"));
+    }
+
+    @Test
+    void likesRemovedWithAnArchivedPublicationAreNotLogged() {
+        Publication live = publicationRepository.save(new Publication("unliked", null, alice));
+        Like like = likeRepository.save(new Like(live, bob));
+        likeRepository.deleteById(like.getId());
+        assertEquals(List.of(1, -1), likeDeltas(live.getId()));
+
+        Publication old = publicationRepository.save(new Publication("archived with its like", null, alice));
+        likeRepository.save(new Like(old, bob));
+        jdbcTemplate.update("UPDATE publications SET created_at = '2001-01-01' WHERE id = ?", old.getId());
+        assertTrue(archiveRepository.archiveBatch(LocalDateTime.of(2001, 1, 2, 0, 0), 100) >= 1);
+        archived.add(old.getId());
+
+        assertTrue(archiveRepository.exists(old.getId()));
+        // The like still counts: it moved to the archive with the publication, it was not removed
+        assertEquals(List.of(1), likeDeltas(old.getId()));
+    }
+
+    private List<Integer> likeDeltas(int publicationId) {
+        return jdbcTemplate.queryForList("SELECT delta FROM change_log WHERE kind = 'l' AND entity = ? ORDER BY id",
+                Integer.class, publicationId);
+    }
+
+    private String freshCursor(User user) throws Exception {
+        SyncDTO sync = sync(user, null);
+        assertEquals(Boolean.TRUE, sync.getReset());
+        return sync.getCursor();
+    }
+
+    /**
+     * Syncs from the cursor, following each next cursor, until the changes gathered so far satisfy the condition.
+     * The horizon only moves past transactions once every older one has finished, so this may take a few rounds.
+     */
+    private SyncDTO syncUntil(User user, String cursor, Predicate<SyncDTO> condition) throws Exception {
+        SyncDTO gathered = new SyncDTO(cursor);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.test(gathered)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Changes not returned within 10 s");
+            SyncDTO sync = sync(user, gathered.getCursor());
+            assertNull(sync.getReset(), "Unexpected reset");
+            gathered.getNotifications().addAll(sync.getNotifications());
+            gathered.getTimeline().addAll(sync.getTimeline());
+            gathered.getProfiles().addAll(sync.getProfiles());
+            sync.getCounters().forEach((counter, delta) -> gathered.getCounters().merge(counter, delta, Long::sum));
+            gathered.setCursor(sync.getCursor());
+            Thread.sleep(20);
+        }
+        return gathered;
+    }
+
+    private SyncDTO sync(User user, String cursor) throws Exception {
+        String body = mockMvc.perform(get("/api/sync").param("since", cursor).with(user(user.getUsername())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, SyncDTO.class);
+    }
+
+    private static List<String> contents(SyncDTO sync) {
+        return sync.getNotifications().stream().map(NotificationDTO::getContent).toList();
+    }
+}
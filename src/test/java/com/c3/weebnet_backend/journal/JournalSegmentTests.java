@@ -0,0 +1,117 @@
+package com.c3.weebnet_backend.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Crash recovery must keep exactly the records written before the first damaged one, and nothing after it.
+ */
+class JournalSegmentTests {
+
+    private static final int RECORDS = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackEveryRecordWritten() throws IOException {
+        Path path = write(RECORDS);
+
+        List<InteractionEvent> events = JournalSegment.readAll(path);
+
+        assertEquals(RECORDS, events.size());
+        for (int i = 0; i < RECORDS; i++) {
+            InteractionEvent event = events.get(i);
+            assertEquals(InteractionType.values()[i % InteractionType.values().length], event.getType());
+            assertEquals(100 + i, event.getUserId());
+            assertEquals(200 + i, event.getPublicationId());
+            assertEquals(1_700_000_000_000L + i, event.getTimestamp());
+        }
+    }
+
+    @Test
+    void recoveryDropsThePreallocatedTail() throws IOException {
+        Path path = write(RECORDS);
+
+        assertEquals(RECORDS, JournalSegment.recover(path));
+        assertEquals(sizeOf(RECORDS), Files.size(path));
+        assertEquals(RECORDS, JournalSegment.readAll(path).size());
+    }
+
+    @Test
+    void recoveryDropsALastRecordThatFailsItsChecksum() throws IOException {
+        Path path = write(RECORDS);
+        flipByte(path, sizeOf(RECORDS - 1) + 12); // publication id of the last record
+
+        assertEquals(RECORDS - 1, JournalSegment.recover(path));
+        assertEquals(sizeOf(RECORDS - 1), Files.size(path));
+        assertEquals(RECORDS - 1, JournalSegment.readAll(path).size());
+    }
+
+    @Test
+    void recoveryDropsALastRecordCutShort() throws IOException {
+        Path path = write(RECORDS);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(sizeOf(RECORDS) - InteractionEvent.SIZE / 2);
+        }
+
+        assertEquals(RECORDS - 1, JournalSegment.recover(path));
+        assertEquals(sizeOf(RECORDS - 1), Files.size(path));
+    }
+
+    @Test
+    void recoveryStopsAtTheFirstDamagedRecord() throws IOException {
+        Path path = write(RECORDS);
+        flipByte(path, sizeOf(1) + 8); // user id of the second record; the valid ones after it are not trusted
+
+        assertEquals(1, JournalSegment.recover(path));
+        List<InteractionEvent> events = JournalSegment.readAll(path);
+        assertEquals(1, events.size());
+        assertEquals(100, events.get(0).getUserId());
+    }
+
+    @Test
+    void rejectsAFileWithoutTheJournalHeader() throws IOException {
+        Path path = write(RECORDS);
+        flipByte(path, 0);
+
+        assertThrows(IOException.class, () -> JournalSegment.readAll(path));
+    }
+
+    private Path write(int records) throws IOException {
+        Path path = directory.resolve("interactions-1.open");
+        try (JournalSegment segment = JournalSegment.create(path, records + 3)) {
+            for (int i = 0; i < records; i++) {
+                InteractionType type = InteractionType.values()[i % InteractionType.values().length];
+                assertTrue(segment.append(new InteractionEvent(type, 100 + i, 200 + i, 1_700_000_000_000L + i)));
+            }
+        }
+        return path;
+    }
+
+    private static long sizeOf(int records) {
+        return JournalSegment.HEADER_SIZE + (long) records * InteractionEvent.SIZE;
+    }
+
+    private static void flipByte(Path path, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, offset);
+            one.put(0, (byte) (one.get(0) ^ 0x5A));
+            one.rewind();
+            channel.write(one, offset);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.c3.weebnet_backend.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database (schema.sql applied) with a synthetic social graph for the load suite in
+ * src/test/resources/benchmarks/load_suite.
+ *
+ * Every table is streamed through a single COPY, so millions of rows load in minutes instead of hours of INSERTs.
+ * Degrees follow a power law, like real social data: most users follow, post and receive little, a few accounts
+ * collect most of the follows, and a few publications most of the likes. The same seed always produces the same
+ * rows, so runs before and after a change see identical data.
+ *
+ * Run with: mvn -Pload-data test-compile exec:java -Dweebnet.load.users=1000000
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String[] WORDS = {"anime", "manga", "naruto", "luffy", "goku", "isekai", "shonen", "seinen",
+            "cosplay", "opening", "ending", "season", "chapter", "episode", "fanart", "review", "ranking", "mecha",
+            "ghibli", "studio", "arc", "villain", "hero", "finale", "spoiler", "theory", "ost", "figure", "con", "sub"};
+    private static final String[] TAGS = {"anime", "manga", "news", "meme", "art", "review", "cosplay", "music",
+            "gaming", "figures", "theories", "spoilers"};
+
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final int users;
+    private final double avgFollows;
+    private final double avgPublications;
+    private final double avgLikes;
+    private final double avgComments;
+    private final double tailShape;
+    private final String passwordHash;
+    private final SplittableRandom random;
+    private final long start = System.currentTimeMillis() - YEAR_MILLIS;
+
+    private int[] authorOf;
+
+    private SyntheticDataGenerator(int users, double avgFollows, double avgPublications, double avgLikes,
+                                   double avgComments, double tailShape, String password, long seed) {
+        this.users = users;
+        this.avgFollows = avgFollows;
+        this.avgPublications = avgPublications;
+        this.avgLikes = avgLikes;
+        this.avgComments = avgComments;
+        this.tailShape = tailShape;
+        // One hash for everybody: logins still pay the full BCrypt cost, the load does not pay it millions of times
+        this.passwordHash = new BCryptPasswordEncoder().encode(password);
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("weebnet.load.url", "jdbc:postgresql://localhost:5432/weebnet_load");
+        String username = System.getProperty("weebnet.load.username", "postgres");
+        String password = System.getProperty("weebnet.load.password", "postgres");
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                Integer.getInteger("weebnet.load.users", 1_000_000),
+                doubleProperty("weebnet.load.avg-follows", 30),
+                doubleProperty("weebnet.load.avg-publications", 4),
+                doubleProperty("weebnet.load.avg-likes", 8),
+                doubleProperty("weebnet.load.avg-comments", 1.5),
+                doubleProperty("weebnet.load.tail-shape", 1.5),
+                System.getProperty("weebnet.load.user-password", "loadtest"),
+                Long.getLong("weebnet.load.seed", 42L));
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            generator.run(connection);
+        }
+    }
+
+    private static void setChangeLogTriggers(Statement statement, String action) throws SQLException {
+        statement.execute("ALTER TABLE publications " + action + " TRIGGER trg_change_log_publications");
+        statement.execute("ALTER TABLE follows " + action + " TRIGGER trg_change_log_follows_insert");
+        statement.execute("ALTER TABLE likes " + action + " TRIGGER trg_change_log_likes_insert");
+    }
+
+    private void run(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM users)")) {
+                rs.next();
+                if (rs.getBoolean(1)) {
+                    throw new IllegalStateException("users is not empty: generate into a fresh database");
+                }
+            }
+            statement.execute("SET synchronous_commit = off");
+            // Generated birthdays are all valid; the per-row plpgsql check would only slow the COPY down
+            statement.execute("ALTER TABLE users DISABLE TRIGGER trg_validate_user_age");
+            // Nobody syncs from generated history: keep it out of change_log
+            setChangeLogTriggers(statement, "DISABLE");
+            try {
+                timed("users", () -> loadUsers(connection));
+                timed("follows", () -> loadFollows(connection));
+                timed("publications", () -> loadPublications(connection));
+                timed("publication_tags", () -> loadTags(connection));
+                timed("likes", () -> loadLikes(connection));
+                timed("comments", () -> loadComments(connection));
+            } finally {
+                statement.execute("ALTER TABLE users ENABLE TRIGGER trg_validate_user_age");
+                setChangeLogTriggers(statement, "ENABLE");
+            }
+            // Ids were written explicitly, so the sequences still point at 1
+            statement.execute("SELECT setval(pg_get_serial_sequence('users', 'id'), (SELECT max(id) FROM users))");
+            statement.execute("SELECT setval(pg_get_serial_sequence('publications', 'id'), (SELECT max(id) FROM publications))");
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("users=%d publications=%d%n", users, authorOf.length);
+    }
+
+    private long loadUsers(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY users (id, username, fullname, email, birth_day, password, bio) FROM STDIN WITH (FORMAT csv)")) {
+            LocalDate oldest = LocalDate.now().minusYears(60);
+            for (int id = 1; id <= users; id++) {
+                copy.field(id).field("load_user_" + id).field("Load User " + id)
+                        .field("load_user_" + id + "@weebnet.test")
+                        .field(oldest.plusDays(random.nextInt(45 * 365)).toString())
+                        .field(passwordHash).field(id % 4 == 0 ? sentence(6) : null).end();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadFollows(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY follows (id_follower, id_following, created_at) FROM STDIN WITH (FORMAT csv)")) {
+            Set<Integer> following = new HashSet<>();
+            for (int follower = 1; follower <= users; follower++) {
+                int degree = (int) Math.min(powerLaw(avgFollows), users / 2);
+                following.clear();
+                for (int attempt = 0; following.size() < degree && attempt < degree * 4; attempt++) {
+                    int followed = popularUser();
+                    if (followed != follower && following.add(followed)) {
+                        copy.field(follower).field(followed).field(timestamp(randomTime())).end();
+                    }
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadPublications(Connection connection) throws SQLException {
+        // Publications of all authors are interleaved and ids follow created_at, as in a live system
+        int[] counts = new int[users + 1];
+        long total = 0;
+        for (int user = 1; user <= users; user++) {
+            counts[user] = (int) Math.min(powerLaw(avgPublications), 5_000);
+            total += counts[user];
+        }
+        authorOf = new int[Math.toIntExact(total)];
+        int next = 0;
+        for (int user = 1; user <= users; user++) {
+            for (int i = 0; i < counts[user]; i++) {
+                authorOf[next++] = user;
+            }
+        }
+        for (int i = authorOf.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = authorOf[i];
+            authorOf[i] = authorOf[j];
+            authorOf[j] = swap;
+        }
+
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY publications (id, text, id_user, created_at) FROM STDIN WITH (FORMAT csv)")) {
+            for (int id = 1; id <= authorOf.length; id++) {
+                copy.field(id).field(sentence(8 + random.nextInt(24))).field(authorOf[id - 1])
+                        .field(timestamp(publishedAt(id))).end();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadTags(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY publication_tags (id_publication, tag) FROM STDIN WITH (FORMAT csv)")) {
+            for (int id = 1; id <= authorOf.length; id++) {
+                int count = random.nextInt(4);
+                int first = skewed(TAGS.length);
+                for (int i = 0; i < count; i++) {
+                    copy.field(id).field(TAGS[(first + i) % TAGS.length]).end();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadLikes(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY likes (id_publication, id_user, created_at) FROM STDIN WITH (FORMAT csv)")) {
+            Set<Integer> likers = new HashSet<>();
+            for (int id = 1; id <= authorOf.length; id++) {
+                int count = (int) Math.min(powerLaw(avgLikes), users / 2);
+                likers.clear();
+                while (likers.size() < count) {
+                    int user = 1 + random.nextInt(users);
+                    if (likers.add(user)) {
+                        copy.field(id).field(user).field(timestamp(reactionTime(id))).end();
+                    }
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private long loadComments(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection,
+                "COPY comments (text, id_publication, id_user, created_at) FROM STDIN WITH (FORMAT csv)")) {
+            for (int id = 1; id <= authorOf.length; id++) {
+                long count = Math.min(powerLaw(avgComments), 2_000);
+                for (long i = 0; i < count; i++) {
+                    copy.field(sentence(3 + random.nextInt(10))).field(id).field(1 + random.nextInt(users))
+                            .field(timestamp(reactionTime(id))).end();
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * Lomax (Pareto type II) sample with the given mean: mostly small values and a long tail. The shape sets how
+     * heavy the tail is; below 2 the variance is infinite, which is what follower counts look like.
+     */
+    private long powerLaw(double mean) {
+        double scale = mean * (tailShape - 1);
+        return (long) (scale * (Math.pow(1 - random.nextDouble(), -1 / tailShape) - 1));
+    }
+
+    /**
+     * A user id where low ids are far more likely: user 1 is the most followed account. The top 0.1% of users
+     * receive about a tenth of all follows.
+     */
+    private int popularUser() {
+        return 1 + skewed(users);
+    }
+
+    private int skewed(int bound) {
+        return Math.min(bound - 1, (int) (bound * Math.pow(random.nextDouble(), 3)));
+    }
+
+    private String sentence(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[skewed(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private long publishedAt(int publicationId) {
+        return start + YEAR_MILLIS * publicationId / authorOf.length;
+    }
+
+    private long reactionTime(int publicationId) {
+        long published = publishedAt(publicationId);
+        return published + (long) (random.nextDouble() * (System.currentTimeMillis() - published));
+    }
+
+    private long randomTime() {
+        return start + (long) (random.nextDouble() * YEAR_MILLIS);
+    }
+
+    private static String timestamp(long millis) {
+        return new Timestamp(millis).toString();
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static void timed(String table, Load load) throws SQLException {
+        long startedAt = System.nanoTime();
+        long rows = load.run();
+        long millis = (System.nanoTime() - startedAt) / 1_000_000;
+        System.out.printf("%-18s %,12d rows %,8d ms%n", table, rows, millis);
+    }
+
+    private interface Load {
+        long run() throws SQLException;
+    }
+
+    /**
+     * Buffers CSV rows and streams them to an open COPY in 1 MiB chunks.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+        private boolean firstField = true;
+        private long rows;
+
+        CopyWriter(Connection connection, String sql) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        CopyWriter field(Object value) {
+            if (!firstField) {
+                buffer.append(',');
+            }
+            firstField = false;
+            if (value == null) {
+                return this; // an unquoted empty field is NULL in CSV
+            }
+            String text = value.toString();
+            if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                buffer.append(text);
+            }
+            return this;
+        }
+
+        void end() throws SQLException {
+            buffer.append('\n');
+            firstField = true;
+            rows++;
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        /**
+         * Sends the remaining rows and completes the COPY. Returns the number of rows written.
+         */
+        long finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+            return rows;
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        // Reached with the COPY still open only when generation failed: roll the whole table back
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
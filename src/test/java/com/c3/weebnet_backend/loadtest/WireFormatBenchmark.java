@@ -0,0 +1,154 @@
+package com.c3.weebnet_backend.loadtest;
+
+import com.c3.weebnet_backend.config.WireFormatConfig;
+import com.c3.weebnet_backend.dto.CursorPageDTO;
+import com.c3.weebnet_backend.dto.PublicationDTO;
+import com.c3.weebnet_backend.dto.UserSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and serialization time of a page of users and a page of publications in JSON, CBOR and Smile,
+ * with the mappers the application uses (see src/test/resources/benchmarks/wire_formats).
+ *
+ * Run with: mvn -Pwire-formats test-compile exec:java -Dweebnet.bench.page-size=20
+ */
+public final class WireFormatBenchmark {
+
+    private static final String[] WORDS = {"anime", "manga", "naruto", "luffy", "goku", "isekai", "shonen", "seinen",
+            "cosplay", "opening", "ending", "season", "chapter", "episode", "fanart", "review", "ranking", "mecha",
+            "ghibli", "studio", "arc", "villain", "hero", "finale", "spoiler", "theory", "ost", "figure", "con", "sub"};
+    private static final String[] TAGS = {"anime", "manga", "news", "meme", "art", "review", "cosplay", "music"};
+    private static final int ROUNDS = 7;
+
+    private WireFormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int pageSize = Integer.getInteger("weebnet.bench.page-size", 20);
+        int iterations = Integer.getInteger("weebnet.bench.iterations", 20_000);
+
+        // Same settings as the Boot-configured application ObjectMapper
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", json);
+        mappers.put("cbor", WireFormatConfig.cborMapper(json));
+        mappers.put("smile", WireFormatConfig.smileMapper(json));
+
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, Object> pages = new LinkedHashMap<>();
+        pages.put("users", userPage(random, pageSize));
+        pages.put("publications", publicationPage(random, pageSize));
+
+        System.out.printf("%-13s %-6s %9s %9s %10s%n", "page", "format", "bytes", "gzipped", "us/op");
+        for (Map.Entry<String, Object> page : pages.entrySet()) {
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                byte[] body = mapper.getValue().writeValueAsBytes(page.getValue());
+                // A format that does not read back what it wrote would make the numbers meaningless
+                if (!mapper.getValue().readTree(body).equals(json.readTree(json.writeValueAsBytes(page.getValue())))) {
+                    throw new IllegalStateException(mapper.getKey() + " does not round-trip the " + page.getKey() + " page");
+                }
+                System.out.printf("%-13s %-6s %,9d %,9d %10.2f%n", page.getKey(), mapper.getKey(), body.length,
+                        gzip(body).length, microsPerWrite(mapper.getValue(), page.getValue(), iterations));
+            }
+        }
+    }
+
+    // Median of several timed rounds, after a warm-up round of the same length
+    private static double microsPerWrite(ObjectMapper mapper, Object page, int iterations) throws IOException {
+        long sink = 0;
+        double[] rounds = new double[ROUNDS];
+        for (int round = -1; round < ROUNDS; round++) {
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += mapper.writeValueAsBytes(page).length;
+            }
+            if (round >= 0) {
+                rounds[round] = (System.nanoTime() - startedAt) / 1_000.0 / iterations;
+            }
+        }
+        if (sink == 0) {
+            throw new IllegalStateException();
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private static CursorPageDTO<UserSummaryDTO> userPage(SplittableRandom random, int size) {
+        List<UserSummaryDTO> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(user(random));
+        }
+        return new CursorPageDTO<>(users, "MTIzNDU2");
+    }
+
+    private static CursorPageDTO<PublicationDTO> publicationPage(SplittableRandom random, int size) {
+        // Feeds repeat authors: a handful of accounts write most of a page
+        List<UserSummaryDTO> authors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, size / 4); i++) {
+            authors.add(user(random));
+        }
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+        List<PublicationDTO> publications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserSummaryDTO author = authors.get(random.nextInt(authors.size()));
+            String photo = random.nextInt(3) == 0 ? null : "/api/media/" + Long.toHexString(random.nextLong()) + ".jpg";
+            List<String> tags = new ArrayList<>();
+            for (int t = random.nextInt(4); t > 0; t--) {
+                tags.add(TAGS[random.nextInt(TAGS.length)]);
+            }
+            PublicationDTO publication = new PublicationDTO(1_000_000 - i, sentence(random, 8 + random.nextInt(30)),
+                    photo, author.getId(), createdAt.minusMinutes(random.nextInt(100_000)), tags);
+            publication.setAuthor(author);
+            publication.setVersion(random.nextInt(5));
+            if (photo != null) {
+                Map<Integer, String> variants = new LinkedHashMap<>();
+                for (int width : new int[] {160, 480, 1080}) {
+                    variants.put(width, photo.replace(".jpg", "_" + width + ".jpg"));
+                }
+                publication.setPhotoVariants(variants);
+            }
+            publications.add(publication);
+        }
+        return new CursorPageDTO<>(publications, "MC45ODc2OjEyMzQ1");
+    }
+
+    private static UserSummaryDTO user(SplittableRandom random) {
+        int id = random.nextInt(1, 1_000_000);
+        return new UserSummaryDTO(id, "user" + id, sentence(random, 2),
+                random.nextBoolean() ? "/api/media/" + Long.toHexString(random.nextLong()) + ".jpg" : null);
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package com.c3.weebnet_backend.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A dump is handed to whoever asks /actuator/jfr: it must not carry the process environment, system properties
+ * or command line.
+ */
+class ContinuousRecordingTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void dumpLeavesOutEnvironmentPropertiesAndCommandLine() throws IOException {
+        ContinuousRecording recording = new ContinuousRecording(true, "default", 1);
+        recording.start();
+        Set<String> types = new HashSet<>();
+        try {
+            assertTrue(recording.isRunning());
+            Path file = directory.resolve("dump.jfr");
+            try (InputStream stream = recording.stream(Duration.ofMinutes(1))) {
+                assertNotNull(stream);
+                Files.copy(stream, file);
+            }
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                types.add(event.getEventType().getName());
+            }
+        } finally {
+            recording.stop();
+        }
+
+        assertFalse(types.isEmpty());
+        for (String sensitive : List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation")) {
+            assertFalse(types.contains(sensitive), sensitive + " was recorded");
+        }
+    }
+}
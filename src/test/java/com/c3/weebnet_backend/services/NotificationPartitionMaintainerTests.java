@@ -0,0 +1,184 @@
+package com.c3.weebnet_backend.services;
+
+import com.c3.weebnet_backend.entities.TypeInteraction;
+import com.c3.weebnet_backend.entities.User;
+import com.c3.weebnet_backend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the maintainer against the real notifications table, on months far enough from today that the
+ * application's own scheduled run leaves them alone.
+ */
+@SpringBootTest
+class NotificationPartitionMaintainerTests {
+
+    // The application maintains 3 months ahead and keeps 12 months back
+    private static final int MONTHS_AHEAD = 8;
+    private static final int RETENTION_MONTHS = 36;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserRepository userRepository;
+
+    private LocalDate currentMonth;
+    private User user;
+    private final List<String> tables = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        currentMonth = jdbcTemplate.queryForObject("SELECT CAST(date_trunc('month', LOCALTIMESTAMP) AS date)", LocalDate.class);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("np" + run, "Notification Partitions", "3000000000",
+                "np" + run + "@weebnet.test", LocalDate.of(2000, 1, 1), "password"));
+        jdbcTemplate.update("INSERT INTO type_interactions (type) SELECT ? WHERE NOT EXISTS " +
+                "(SELECT 1 FROM type_interactions WHERE type = ?)", TypeInteraction.MENTION, TypeInteraction.MENTION);
+        // Months only this maintainer creates, beyond the application's own
+        for (int i = 4; i <= MONTHS_AHEAD; i++) {
+            tables.add(NotificationPartitionMaintainer.partitionName(currentMonth.plusMonths(i)));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE id_giver = ?", user.getId());
+        for (String table : tables) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        }
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void createsMissingPartitionsAhead() {
+        LocalDate last = currentMonth.plusMonths(MONTHS_AHEAD);
+        String partition = NotificationPartitionMaintainer.partitionName(last);
+        NotificationPartitionMaintainer maintainer = maintainer(NotificationPartitionMaintainer.ARCHIVE);
+
+        awaitTrue(() -> {
+            maintainer.maintain();
+            return isPartition(partition);
+        });
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            assertTrue(isPartition(NotificationPartitionMaintainer.partitionName(currentMonth.plusMonths(i))));
+        }
+    }
+
+    @Test
+    void movesStrandedRowsOutOfTheDefaultPartition() {
+        LocalDate last = currentMonth.plusMonths(MONTHS_AHEAD);
+        String partition = NotificationPartitionMaintainer.partitionName(last);
+        // No partition covers that month yet, so the row lands in the default one
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        jdbcTemplate.update("INSERT INTO notifications (type, content, created_at, id_giver, id_receiver) " +
+                        "SELECT id, 'stranded', ?, ?, ? FROM type_interactions WHERE type = ?",
+                last.atTime(12, 0), user.getId(), user.getId(), TypeInteraction.MENTION);
+        assertEquals(1, (int) strandedInDefault());
+
+        NotificationPartitionMaintainer maintainer = maintainer(NotificationPartitionMaintainer.ARCHIVE);
+        awaitTrue(() -> {
+            maintainer.maintain();
+            return isPartition(partition);
+        });
+
+        assertEquals(0, (int) strandedInDefault());
+        assertEquals(1, (int) count(partition));
+        assertEquals(1, (int) jdbcTemplate.queryForObject("SELECT count(*) FROM notifications WHERE id_giver = ?",
+                Integer.class, user.getId()));
+    }
+
+    @Test
+    void archivesExpiredPartitions() {
+        String partition = expiredPartition();
+        tables.add("notifications_archive." + partition);
+
+        NotificationPartitionMaintainer maintainer = maintainer(NotificationPartitionMaintainer.ARCHIVE);
+        awaitTrue(() -> {
+            maintainer.maintain();
+            return !isPartition(partition);
+        });
+
+        assertEquals(1, (int) count("notifications_archive." + partition));
+    }
+
+    @Test
+    void dropsExpiredPartitions() {
+        String partition = expiredPartition();
+
+        NotificationPartitionMaintainer maintainer = maintainer(NotificationPartitionMaintainer.DROP);
+        awaitTrue(() -> {
+            maintainer.maintain();
+            return !isPartition(partition);
+        });
+
+        assertFalse(tableExists(partition));
+        assertFalse(tableExists("notifications_archive." + partition));
+    }
+
+    /** A partition one month past retention, holding one of the test user's notifications. */
+    private String expiredPartition() {
+        LocalDate month = currentMonth.minusMonths(RETENTION_MONTHS + 1);
+        String partition = NotificationPartitionMaintainer.partitionName(month);
+        tables.add(partition);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF notifications " +
+                "FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+        jdbcTemplate.update("INSERT INTO notifications (type, content, created_at, id_giver, id_receiver) " +
+                        "SELECT id, 'expired', ?, ?, ? FROM type_interactions WHERE type = ?",
+                month.atTime(12, 0), user.getId(), user.getId(), TypeInteraction.MENTION);
+        assertEquals(1, (int) count(partition));
+        return partition;
+    }
+
+    private NotificationPartitionMaintainer maintainer(String expired) {
+        return new NotificationPartitionMaintainer(jdbcTemplate, transactionTemplate, MONTHS_AHEAD, RETENTION_MONTHS,
+                expired, 2000);
+    }
+
+    private boolean isPartition(String partition) {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = CAST('notifications' AS regclass) AND c.relname = ?)", Boolean.class, partition);
+    }
+
+    private boolean tableExists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    private Integer count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE id_giver = ?", Integer.class,
+                user.getId());
+    }
+
+    private Integer strandedInDefault() {
+        return count("notifications_default");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10 s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+// Load suite over the synthetic dataset: four scenarios run one after another, each summarised into
+// results/<LABEL>.json (throughput and latency percentiles per scenario) for before/after comparison.
+//   k6 run -e LABEL=before -e USERS=1000000 -e PUBLICATIONS=4000000 scenarios.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const LABEL = __ENV.LABEL || 'run';
+const USERS = Number(__ENV.USERS || 1000000);
+const PUBLICATIONS = Number(__ENV.PUBLICATIONS || 4 * USERS);
+const PASSWORD = __ENV.PASSWORD || 'loadtest';
+const TOKEN_POOL = Number(__ENV.TOKEN_POOL || 50);
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+// Durations in seconds, also used to turn request counts into per-scenario throughput
+const PHASES = {
+    login_storm: { duration: 60 },
+    profile_browsing: { duration: 120 },
+    feed_scrolling: { duration: 120 },
+    like_bursts: { duration: 60 },
+};
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        // Everybody opens the app at once: arrival rate ramps to a peak of BCrypt-bound logins
+        login_storm: {
+            executor: 'ramping-arrival-rate', exec: 'loginStorm', startTime: '0s',
+            startRate: 0, timeUnit: '1s', preAllocatedVUs: 200, maxVUs: 2000,
+            stages: [
+                { duration: '10s', target: Number(__ENV.LOGIN_RATE || 100) },
+                { duration: '40s', target: Number(__ENV.LOGIN_RATE || 100) },
+                { duration: '10s', target: 0 },
+            ],
+        },
+        profile_browsing: {
+            executor: 'constant-arrival-rate', exec: 'profileBrowsing', startTime: '70s',
+            rate: Number(__ENV.PROFILE_RATE || 1000), timeUnit: '1s', duration: '120s',
+            preAllocatedVUs: 300, maxVUs: 3000,
+        },
+        // Each iteration reads the first feed page and scrolls four more with the keyset cursor
+        feed_scrolling: {
+            executor: 'constant-vus', exec: 'feedScrolling', startTime: '200s',
+            vus: Number(__ENV.FEED_VUS || 200), duration: '120s',
+        },
+        // Short spikes on a handful of hot publications, separated by quiet periods
+        like_bursts: {
+            executor: 'ramping-arrival-rate', exec: 'likeBursts', startTime: '330s',
+            startRate: 50, timeUnit: '1s', preAllocatedVUs: 300, maxVUs: 3000,
+            stages: [
+                { duration: '5s', target: Number(__ENV.BURST_RATE || 2000) },
+                { duration: '10s', target: Number(__ENV.BURST_RATE || 2000) },
+                { duration: '5s', target: 50 },
+                { duration: '10s', target: 50 },
+                { duration: '5s', target: Number(__ENV.BURST_RATE || 2000) },
+                { duration: '10s', target: Number(__ENV.BURST_RATE || 2000) },
+                { duration: '5s', target: 50 },
+                { duration: '10s', target: 50 },
+            ],
+        },
+    },
+    // Always-passing thresholds, only there so that k6 keeps a per-scenario sub-metric for handleSummary
+    thresholds: Object.fromEntries(Object.keys(PHASES).flatMap((name) => [
+        [`http_req_duration{scenario:${name}}`, ['max>=0']],
+        [`http_reqs{scenario:${name}}`, ['count>=0']],
+        [`http_req_failed{scenario:${name}}`, ['rate>=0']],
+    ])),
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// Same skew as the generator: low ids are the popular accounts and publications
+function popular(count) {
+    return 1 + Math.min(count - 1, Math.floor(count * Math.pow(Math.random(), 3)));
+}
+
+function login(userId) {
+    return http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ usernameOrEmail: `load_user_${userId}`, password: PASSWORD }),
+        { headers: JSON_HEADERS, tags: { endpoint: 'login' } });
+}
+
+export function setup() {
+    const tokens = [];
+    for (let i = 0; i < TOKEN_POOL; i++) {
+        const res = login(1 + Math.floor(Math.random() * USERS));
+        if (res.status === 200) {
+            tokens.push(res.json('token')); // AuthController.TokenResponse
+        }
+    }
+    if (tokens.length === 0) {
+        throw new Error('No test user could log in: was the dataset generated with the same password?');
+    }
+    return { tokens };
+}
+
+function auth(data) {
+    return { Authorization: `Bearer ${data.tokens[Math.floor(Math.random() * data.tokens.length)]}` };
+}
+
+export function loginStorm() {
+    const res = login(1 + Math.floor(Math.random() * USERS));
+    check(res, { 'login 200': (r) => r.status === 200 });
+}
+
+export function profileBrowsing(data) {
+    const res = http.get(`${BASE_URL}/api/users/load_user_${popular(USERS)}`,
+        { headers: auth(data), tags: { endpoint: 'profile' } });
+    check(res, { 'profile 200': (r) => r.status === 200 });
+}
+
+export function feedScrolling(data) {
+    const headers = Object.assign({ Accept: 'application/x-ndjson' }, auth(data));
+    let before = '';
+    for (let page = 0; page < 5; page++) {
+        const res = http.get(`${BASE_URL}/api/stream/feed?limit=20${before}`,
+            { headers, tags: { endpoint: 'feed' } });
+        if (!check(res, { 'feed 200': (r) => r.status === 200 })) {
+            return;
+        }
+        const lines = res.body.trim().split('\n').filter((line) => line.length > 0);
+        if (lines.length === 0) {
+            return;
+        }
+        before = `&before=${JSON.parse(lines[lines.length - 1]).id}`;
+    }
+}
+
+// There is no endpoint to create likes yet: a burst is the read of a hot publication plus a recorded view,
+// the write path that every like goes through once it exists
+export function likeBursts(data) {
+    const id = popular(Math.min(PUBLICATIONS, 20));
+    const headers = Object.assign({}, JSON_HEADERS, auth(data));
+    const read = http.get(`${BASE_URL}/api/publications/${id}`, { headers, tags: { endpoint: 'publication' } });
+    check(read, { 'publication 200': (r) => r.status === 200 });
+    const write = http.post(`${BASE_URL}/api/interactions`, JSON.stringify({ type: 'view', publicationId: id }),
+        { headers, tags: { endpoint: 'interaction' } });
+    check(write, { 'interaction 202': (r) => r.status === 202 });
+}
+
+function metricValues(data, name) {
+    return data.metrics[name] ? data.metrics[name].values : {};
+}
+
+export function handleSummary(data) {
+    const scenarios = {};
+    for (const [name, phase] of Object.entries(PHASES)) {
+        const duration = metricValues(data, `http_req_duration{scenario:${name}}`);
+        const requests = metricValues(data, `http_reqs{scenario:${name}}`).count || 0;
+        scenarios[name] = {
+            requests,
+            throughput_rps: requests / phase.duration,
+            failed_rate: metricValues(data, `http_req_failed{scenario:${name}}`).rate || 0,
+            latency_ms: {
+                avg: duration.avg,
+                p50: duration['p(50)'],
+                p95: duration['p(95)'],
+                p99: duration['p(99)'],
+                max: duration.max,
+            },
+        };
+    }
+    const report = {
+        label: LABEL,
+        finished_at: new Date().toISOString(),
+        base_url: BASE_URL,
+        users: USERS,
+        publications: PUBLICATIONS,
+        scenarios,
+    };
+    const json = JSON.stringify(report, null, 2);
+    return {
+        [`results/${LABEL}.json`]: json,
+        stdout: json + '\n',
+    };
+}
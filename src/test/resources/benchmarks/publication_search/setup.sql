@@ -0,0 +1,70 @@
+-- Generates a synthetic corpus for the publication search benchmark.
+-- Run against an empty database that already has schema.sql applied:
+--   psql -d weebnet_bench -v publications=3000000 -f setup.sql
+
+\if :{?publications}
+\else
+\set publications 3000000
+\endif
+
+ALTER TABLE users DISABLE TRIGGER trg_validate_user_age;
+
+INSERT INTO users (username, fullname, email, birth_day, password)
+SELECT 'bench_user_' || g, 'Bench User ' || g, 'bench_user_' || g || '@weebnet.test', DATE '2000-01-01', 'x'
+FROM generate_series(1, 10000) AS g;
+
+ALTER TABLE users ENABLE TRIGGER trg_validate_user_age;
+
+-- Vocabulary skewed like real text: 20 very common words (the ones search.pgbench queries first) and a long tail
+-- of rarer ones, tail21 .. tail20000. Word ids are drawn with a cubic skew, so low ids are the frequent ones.
+CREATE TEMP TABLE bench_words (id int PRIMARY KEY, word text NOT NULL);
+INSERT INTO bench_words
+SELECT g, CASE WHEN g <= 20
+               THEN (ARRAY['anime','manga','naruto','luffy','goku','isekai','shonen','seinen','cosplay','opening',
+                           'ending','season','chapter','episode','fanart','review','ranking','waifu','mecha','ghibli'])[g]
+               ELSE 'tail' || g END
+FROM generate_series(1, 20000) AS g;
+
+-- The draw is made once per word position (8 to 19 words per publication) and then joined to the vocabulary
+INSERT INTO publications (text, id_user, created_at)
+SELECT (SELECT string_agg(w.word, ' ')
+        FROM (SELECT 1 + floor(power(random(), 3) * 19999)::int AS word_id
+              FROM generate_series(1, 8 + (p % 12))) AS drawn
+        JOIN bench_words w ON w.id = drawn.word_id),
+       1 + (p % 10000),
+       now() - (p % 86400) * interval '1 minute'
+FROM generate_series(1, :publications) AS p;
+
+INSERT INTO publication_tags (id_publication, tag)
+SELECT p.id, (ARRAY['anime','manga','news','meme','art','review','cosplay','music'])[1 + (p.id % 8)]
+FROM publications p
+WHERE p.id % 3 = 0;
+
+ANALYZE users;
+ANALYZE publications;
+ANALYZE publication_tags;
+
+-- Every query search.pgbench can issue must find publications, with and without the tag filter: timing queries
+-- that match nothing would only measure empty index probes
+DO $$
+DECLARE
+    hits bigint;
+    tagged_hits bigint;
+BEGIN
+    FOR term IN 1..20 LOOP
+        SELECT count(*), count(*) FILTER (WHERE EXISTS (SELECT 1 FROM publication_tags t
+                                                        WHERE t.id_publication = p.id AND lower(t.tag) = 'anime'))
+        INTO hits, tagged_hits
+        FROM publications p
+        WHERE p.search_vector @@ websearch_to_tsquery('simple',
+                  (ARRAY['anime','manga','naruto','luffy','goku','isekai','shonen','seinen','cosplay','opening',
+                         'ending','season','chapter','episode','fanart','review','ranking','waifu','mecha','ghibli'])[term]
+                  || ' ' || 'tail' || (20 + term * 10));
+        IF hits = 0 OR tagged_hits = 0 THEN
+            RAISE EXCEPTION 'search term % matches % publications (% tagged anime): generate a larger corpus',
+                term, hits, tagged_hits;
+        END IF;
+        RAISE NOTICE 'term %: % hits, % tagged anime', term, hits, tagged_hits;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,22 @@
+// Notification polling at increasing concurrency; run once per path and compare the summaries.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    stages: [
+        { duration: '30s', target: 200 },
+        { duration: '1m', target: 200 },
+        { duration: '30s', target: 2000 },
+        { duration: '1m', target: 2000 },
+    ],
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const res = http.get(`${BASE_URL}${__ENV.PATH_UNDER_TEST}`, {
+        headers: { Authorization: `Bearer ${__ENV.TOKEN}`, Accept: __ENV.ACCEPT },
+    });
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
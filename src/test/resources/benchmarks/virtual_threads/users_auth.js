@@ -0,0 +1,48 @@
+// k6 load test for the user and auth endpoints, run once per thread mode and compared.
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=bench_user_1 -e PASSWORD=... users_auth.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME;
+const PASSWORD = __ENV.PASSWORD;
+
+export const options = {
+    scenarios: {
+        login: {
+            executor: 'constant-arrival-rate', exec: 'login',
+            rate: Number(__ENV.LOGIN_RATE || 50), timeUnit: '1s', duration: '2m',
+            preAllocatedVUs: 200, maxVUs: 2000,
+        },
+        profiles: {
+            executor: 'constant-arrival-rate', exec: 'profile',
+            rate: Number(__ENV.PROFILE_RATE || 2000), timeUnit: '1s', duration: '2m',
+            preAllocatedVUs: 500, maxVUs: 5000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ usernameOrEmail: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    if (res.status !== 200) {
+        throw new Error(`Login of ${USERNAME} failed with ${res.status}: ${res.body}`);
+    }
+    // AuthController.TokenResponse
+    return { token: res.json('token') };
+}
+
+export function login() {
+    const res = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ usernameOrEmail: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+    check(res, { 'login 200': (r) => r.status === 200 });
+}
+
+export function profile(data) {
+    const res = http.get(`${BASE_URL}/api/users/${USERNAME}`,
+        { headers: { Authorization: `Bearer ${data.token}` }, tags: { endpoint: 'profile' } });
+    check(res, { 'profile 200': (r) => r.status === 200 });
+}